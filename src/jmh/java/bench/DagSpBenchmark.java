@@ -0,0 +1,39 @@
+package bench;
+
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.DagPaths;
+import graph.dagsp.ParallelDagPaths;
+import org.openjdk.jmh.annotations.*;
+import util.Metrics;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class DagSpBenchmark {
+
+    @Benchmark
+    public double[] shortestPath(GraphState s) {
+        int[] parent = new int[s.condensation.vertexCount()];
+        return new DAGShortestPath(new Metrics()).shortestPath(s.condensation, 0, parent);
+    }
+
+    @Benchmark
+    public double[] longestPath(GraphState s) {
+        int[] parent = new int[s.condensation.vertexCount()];
+        return new DAGShortestPath(new Metrics()).longestPath(s.condensation, 0, parent);
+    }
+
+    @Benchmark
+    public DagPaths fusedWithOrder(GraphState s) {
+        return new DAGShortestPath(new Metrics()).paths(s.condensation, s.condensationOrder, 0);
+    }
+
+    @Benchmark
+    public DagPaths parallelWavefront(GraphState s) {
+        return new ParallelDagPaths(new Metrics()).paths(s.condensation, s.condensationOrder, 0);
+    }
+}
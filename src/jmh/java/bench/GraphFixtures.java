@@ -0,0 +1,59 @@
+package bench;
+
+import graph.csr.CsrGraph;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic graphs for the benchmarks.
+ * <ul>
+ *   <li>{@code dag}: every edge points forward to a vertex at most 1024 ids ahead</li>
+ *   <li>{@code planted}: rings of 32 vertices (one SCC each) joined by forward edges</li>
+ *   <li>{@code random}: uniform endpoints, which leaves one giant SCC</li>
+ * </ul>
+ */
+final class GraphFixtures {
+    static final int PLANTED_SCC_SIZE = 32;
+    private static final int DAG_WINDOW = 1024;
+
+    private GraphFixtures() { }
+
+    static CsrGraph build(int n, int degree, String structure, long seed) {
+        SplittableRandom rnd = new SplittableRandom(seed);
+        int m = n * degree;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        double[] w = new double[m];
+        int k = 0;
+
+        if (structure.equals("planted")) {
+            for (int u = 0; u < n; u++) {
+                int blockStart = u - u % PLANTED_SCC_SIZE;
+                int blockEnd = Math.min(n, blockStart + PLANTED_SCC_SIZE);
+                from[k] = u;
+                to[k++] = u + 1 < blockEnd ? u + 1 : blockStart;
+            }
+        }
+        while (k < m) {
+            int u = rnd.nextInt(n);
+            int v;
+            switch (structure) {
+                case "dag":
+                case "planted":
+                    if (u == n - 1) continue;
+                    v = u + 1 + rnd.nextInt(Math.min(DAG_WINDOW, n - 1 - u));
+                    if (structure.equals("planted") && v / PLANTED_SCC_SIZE == u / PLANTED_SCC_SIZE) continue;
+                    break;
+                case "random":
+                    v = rnd.nextInt(n);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown structure " + structure);
+            }
+            from[k] = u;
+            to[k++] = v;
+        }
+        for (int i = 0; i < m; i++) w[i] = 1 + rnd.nextInt(10);
+        return CsrGraph.fromEdges(n, m, from, to, w, null);
+    }
+}
@@ -0,0 +1,39 @@
+package bench;
+
+import graph.csr.CsrGraph;
+import graph.scc.CollapsePolicy;
+import graph.scc.Components;
+import graph.scc.CondensationBuilder;
+import graph.scc.TarjanSCC;
+import org.openjdk.jmh.annotations.*;
+import util.Metrics;
+
+/**
+ * Shared benchmark input. The full parameter space is large; narrow it on
+ * the command line, e.g. {@code -p vertices=1000000 -p structure=planted}.
+ */
+@State(Scope.Benchmark)
+public class GraphState {
+    @Param({"1000", "100000", "10000000"})
+    public int vertices;
+
+    @Param({"2", "8"})
+    public int degree;
+
+    @Param({"dag", "planted", "random"})
+    public String structure;
+
+    public CsrGraph graph;
+    public Components components;
+    public CsrGraph condensation;
+    public int[] condensationOrder;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        graph = GraphFixtures.build(vertices, degree, structure, 42);
+        components = new TarjanSCC(new Metrics()).compute(graph).reversed();
+        condensation = new CondensationBuilder().build(graph, components, CollapsePolicy.MIN);
+        condensationOrder = new int[components.getCount()];
+        for (int i = 0; i < condensationOrder.length; i++) condensationOrder[i] = i;
+    }
+}
@@ -0,0 +1,36 @@
+package bench;
+
+import graph.csr.CsrGraph;
+import graph.scc.*;
+import org.openjdk.jmh.annotations.*;
+import util.Metrics;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xss16m", "-Xmx8g"})
+public class SccBenchmark {
+
+    @Benchmark
+    public Components kosaraju(GraphState s) {
+        return new KosarajuSCC(new Metrics()).compute(s.graph);
+    }
+
+    @Benchmark
+    public Components tarjan(GraphState s) {
+        return new TarjanSCC(new Metrics()).compute(s.graph);
+    }
+
+    @Benchmark
+    public Components parallel(GraphState s) {
+        return new ParallelSCC(new Metrics()).compute(s.graph);
+    }
+
+    @Benchmark
+    public CsrGraph buildCondensation(GraphState s) {
+        return new CondensationBuilder().build(s.graph, s.components, CollapsePolicy.MIN);
+    }
+}
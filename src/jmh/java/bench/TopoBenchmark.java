@@ -0,0 +1,27 @@
+package bench;
+
+import graph.topo.KahnTopo;
+import graph.topo.ParallelKahnTopo;
+import graph.topo.TopoLevels;
+import org.openjdk.jmh.annotations.*;
+import util.Metrics;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class TopoBenchmark {
+
+    @Benchmark
+    public int[] kahn(GraphState s) {
+        return new KahnTopo(new Metrics()).sort(s.condensation);
+    }
+
+    @Benchmark
+    public TopoLevels parallelKahn(GraphState s) {
+        return new ParallelKahnTopo(new Metrics()).sort(s.condensation);
+    }
+}
@@ -0,0 +1,64 @@
+package bench;
+
+import graph.Workspace;
+import graph.dagsp.DAGShortestPath;
+import graph.scc.KosarajuSCC;
+import graph.topo.KahnTopo;
+import org.openjdk.jmh.annotations.*;
+import util.Metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fresh-allocation versus reused-{@link Workspace} runs of the same kernels.
+ * Compare {@code gc.alloc.rate.norm}: the reused variants should report
+ * close to zero bytes per operation once the workspace has grown.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class WorkspaceBenchmark {
+
+    @State(Scope.Thread)
+    public static class Reuse {
+        final Metrics metrics = new Metrics();
+        final Workspace ws = new Workspace();
+        final KosarajuSCC scc = new KosarajuSCC(metrics);
+        final KahnTopo topo = new KahnTopo(metrics);
+        final DAGShortestPath dsp = new DAGShortestPath(metrics);
+    }
+
+    @Benchmark
+    public int kosarajuFresh(GraphState s, Reuse r) {
+        return r.scc.compute(s.graph).getCount();
+    }
+
+    @Benchmark
+    public int kosarajuReused(GraphState s, Reuse r) {
+        return r.scc.compute(s.graph, r.ws);
+    }
+
+    @Benchmark
+    public int[] kahnFresh(GraphState s, Reuse r) {
+        return r.topo.sort(s.condensation);
+    }
+
+    @Benchmark
+    public int[] kahnReused(GraphState s, Reuse r) {
+        return r.topo.sort(s.condensation, r.ws);
+    }
+
+    @Benchmark
+    public double[] longestPathFresh(GraphState s, Reuse r) {
+        // a new instance has an empty order cache, so this sorts as the reused variant does
+        int[] parent = new int[s.condensation.vertexCount()];
+        return new DAGShortestPath(r.metrics).longestPath(s.condensation, 0, parent);
+    }
+
+    @Benchmark
+    public double[] longestPathReused(GraphState s, Reuse r) {
+        return r.dsp.longestPath(s.condensation, 0, r.ws);
+    }
+}
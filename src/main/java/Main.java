@@ -1,147 +1,221 @@
-import com.google.gson.*;
-import graph.Edge;
-import graph.Graph;
-import graph.scc.KosarajuSCC;
-import graph.topo.KahnTopo;
-import graph.dagsp.DAGShortestPath;
+import graph.analysis.AnalysisResult;
+import graph.analysis.GraphAnalysis;
+import graph.analysis.ResultCache;
+import graph.io.BinaryGraphFormat;
+import graph.io.EdgeFile;
+import graph.io.JsonGraphLoader;
+import graph.io.LoadedGraph;
+import graph.report.ReportWriter;
+import graph.scc.CollapsePolicy;
+import graph.scc.Components;
+import graph.scc.ExternalSCC;
+import graph.gen.GraphGenerator;
+import graph.server.GraphIndex;
+import graph.server.GraphQueryServer;
+import util.LatencyRecorder;
 import util.Metrics;
+import util.Phase;
+import util.PhaseTimer;
+import util.ResultsWriter;
 
 import java.io.*;
 import java.nio.file.*;
 import java.util.*;
+import java.util.concurrent.*;
 
 public class Main {
-    private static final String CSV_PATH = "results/results.csv";
-
+    private static final String RESULTS_DIR = "results";
+    private static final String USAGE = "Usage: Main [--repeat N] [--jobs N] [--cache DIR] [--cache-max-mb MB]"
+            + " [--refresh] [--output console|jsonl|binary|quiet] [--output-file PATH] [DATA_DIR]";
+    
     public static void main(String[] args) throws Exception {
-        String dataDir = "data";
-        System.out.println("=== DAG & SCC Analysis ===");
+        if (args.length == 3 && args[0].equals("convert")) {
+            if (args[2].endsWith(EdgeFile.EXTENSION)) EdgeFile.write(readGraph(Path.of(args[1])).getGraph(), Path.of(args[2]));
+            else BinaryGraphFormat.convert(Path.of(args[1]), Path.of(args[2]));
+            return;
+        }
+        if ((args.length == 3 || args.length == 4) && args[0].equals("scc-external")) {
+            Path tmp = args.length == 4 ? Path.of(args[3]) : Path.of(System.getProperty("java.io.tmpdir"));
+            Metrics m = new Metrics(args[1]);
+            ExternalSCC scc = new ExternalSCC(m, tmp);
+            Components comps = scc.compute(Path.of(args[1]), Path.of(args[2]), CollapsePolicy.MIN);
+            System.out.println(comps.getCount() + " components after " + scc.passes() + " passes; " + m);
+            return;
+        }
+        if (args.length == 6 && args[0].equals("generate")) {
+            GraphGenerator.Family family = GraphGenerator.Family.valueOf(args[1].toUpperCase(Locale.ROOT));
+            new GraphGenerator(family, Integer.parseInt(args[2]), Long.parseLong(args[3]), Long.parseLong(args[4]))
+                    .write(Path.of(args[5]));
+            return;
+        }
 
-        if (!Files.exists(Path.of(CSV_PATH))) {
-            try (PrintWriter pw = new PrintWriter(new FileWriter(CSV_PATH))) {
-                pw.println("dataset,totalTimeMs,elapsedMs,dfsVisits,dfsEdges,kahnPushes,kahnPops,relaxations");
-            }
+        if ((args.length == 2 || args.length == 3) && args[0].equals("serve")) {
+            serve(Path.of(args[1]), args.length == 3 ? Integer.parseInt(args[2]) : 8080);
+            return;
         }
 
-        Files.list(Path.of(dataDir))
-                .filter(p -> p.toString().endsWith(".json"))
-                .sorted()
-                .forEach(path -> {
-                    System.out.println("\n--- Processing " + path.getFileName() + " ---");
-                    try {
-                        Graph g = readGraph(path.toString());
-                        Metrics m = new Metrics();
-
-                        long tStart = System.nanoTime();
-                        m.startTimer();
-                        runAlgorithms(g, m);
-                        m.stopTimer();
-                        long tEnd = System.nanoTime();
-                        double totalMs = (tEnd - tStart) / 1_000_000.0;
-
-                        appendMetricsCSV(path.getFileName().toString(), totalMs, m);
-
-                    } catch (Exception e) {
-                        System.err.println("Failed: " + e.getMessage());
-                    }
-                });
-    }
+        int repeat = 1, jobs = 1;
+        long cacheMb = 256;
+        String dataDir = "data", cacheDir = null, outputFile = null;
+        ReportWriter.Format format = ReportWriter.Format.CONSOLE;
+        boolean refresh = false;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--repeat" -> repeat = Integer.parseInt(args[++i]);
+                case "--jobs" -> jobs = Integer.parseInt(args[++i]);
+                case "--cache" -> cacheDir = args[++i];
+                case "--cache-max-mb" -> cacheMb = Long.parseLong(args[++i]);
+                case "--refresh" -> refresh = true;
+                case "--output" -> format = ReportWriter.Format.parse(args[++i]);
+                case "--output-file" -> outputFile = args[++i];
+                default -> {
+                    if (args[i].startsWith("--"))
+                        throw new IllegalArgumentException("Unknown option " + args[i] + System.lineSeparator() + USAGE);
+                    dataDir = args[i];
+                }
+            }
+        }
+        if (repeat < 1 || jobs < 1) throw new IllegalArgumentException("--repeat and --jobs must be positive");
+        final int runs = repeat;
+        final boolean forceRefresh = refresh;
+        final ResultCache cache = cacheDir == null ? null : new ResultCache(Path.of(cacheDir), cacheMb << 20);
+
+        List<Path> files;
+        try (var listing = Files.list(Path.of(dataDir))) {
+            files = listing
+                    .filter(p -> p.toString().endsWith(".json") || p.toString().endsWith(BinaryGraphFormat.EXTENSION))
+                    .sorted()
+                    .toList();
+        }
 
-    private static Graph readGraph(String path) throws Exception {
-        try (FileReader r = new FileReader(path)) {
-            JsonObject obj = JsonParser.parseReader(r).getAsJsonObject();
-            int n = obj.get("n").getAsInt();
-            List<String> nodes = new ArrayList<>();
-            for (int i = 0; i < n; i++) nodes.add(String.valueOf(i));
-
-            List<Edge> edges = new ArrayList<>();
-            for (JsonElement e : obj.getAsJsonArray("edges")) {
-                JsonObject eo = e.getAsJsonObject();
-                edges.add(new Edge(
-                        String.valueOf(eo.get("u").getAsInt()),
-                        String.valueOf(eo.get("v").getAsInt()),
-                        eo.get("w").getAsDouble()
-                ));
+        // Workers analyse files concurrently; results are reported and written in file order, with at most
+        // 2 * jobs analysed results waiting behind a slower file
+        OutputStream sink = outputFile == null ? unclosed(System.out) : Files.newOutputStream(Path.of(outputFile));
+        ExecutorService pool = Executors.newFixedThreadPool(jobs);
+        try (ReportWriter report = format.open(sink);
+             ResultsWriter writer = new ResultsWriter(Path.of(RESULTS_DIR))) {
+            report.begin();
+            Deque<Future<DatasetResult>> pending = new ArrayDeque<>();
+            Iterator<Path> next = files.iterator();
+            while (next.hasNext() || !pending.isEmpty()) {
+                while (next.hasNext() && pending.size() < 2 * jobs) {
+                    Path path = next.next();
+                    pending.add(pool.submit(() -> analyse(path, runs, cache, forceRefresh)));
+                }
+                DatasetResult r = pending.poll().get();
+                if (r.failure != null) {
+                    report.failure(r.dataset, r.failure);
+                    report.flush();
+                    continue;
+                }
+                try {
+                    report.dataset(r.dataset, r.result, r.metrics, r.totalMs);
+                    if (runs > 1) report.latency(r.dataset, r.latency);
+                } catch (RuntimeException e) {
+                    report.failure(r.dataset, e);
+                }
+                report.flush();
+                // a cache hit ran no algorithm, so its zero counters would skew results.csv
+                if (r.cached) continue;
+                try {
+                    writer.writeRun(r.dataset, r.totalMs, r.metrics);
+                    if (runs > 1) writer.writeLatency(r.dataset, r.latency);
+                } catch (IOException e) {
+                    System.err.println("Failed to write CSV: " + e.getMessage());
+                }
             }
-            return new Graph(0, nodes, edges);
+        } finally {
+            pool.shutdown();
         }
     }
 
-    private static void runAlgorithms(Graph g, Metrics m) {
-        KosarajuSCC scc = new KosarajuSCC(m);
-
-        Map<String, List<String>> adj = new HashMap<>();
-        for (String node : g.getNodes()) adj.put(node, new ArrayList<>());
-        for (Edge e : g.getEdges()) adj.get(e.getFrom()).add(e.getTo());
-
-        List<List<String>> comps = scc.compute(adj);
-        Map<String, List<String>> dag = scc.buildCondensation(adj, comps);
-        System.out.println("Condensation DAG: " + dag);
+    // Main does not own System.out: closing the report only flushes it
+    private static OutputStream unclosed(OutputStream out) {
+        return new FilterOutputStream(out) {
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+            }
 
-        KahnTopo topo = new KahnTopo(m);
-        List<String> topoOrder = topo.sort(dag);
-        System.out.println("Topological Order: " + topoOrder);
+            @Override
+            public void close() throws IOException {
+                flush();
+            }
+        };
+    }
 
-        Map<String, List<Edge>> weighted = new HashMap<>();
-        for (String node : dag.keySet()) weighted.put(node, new ArrayList<>());
-        for (Edge e : g.getEdges()) {
-            String cu = findComp(comps, e.getFrom());
-            String cv = findComp(comps, e.getTo());
-            if (!cu.equals(cv)) weighted.get(cu).add(new Edge(cu, cv, e.getWeight()));
+    private static final class DatasetResult {
+        final String dataset;
+        AnalysisResult result;
+        Metrics metrics;
+        double totalMs;
+        boolean cached;
+        LatencyRecorder latency = new LatencyRecorder();
+        Throwable failure;
+
+        DatasetResult(String dataset) {
+            this.dataset = dataset;
         }
+    }
 
-        DAGShortestPath dsp = new DAGShortestPath(m);
-        String source = findComp(comps, g.getNodes().get(0));
-
-        Map<String, String> shortestParent = new HashMap<>();
-        Map<String, Double> shortest = dsp.shortestPath(weighted, source, shortestParent);
-
-        Map<String, String> longestParent = new HashMap<>();
-        Map<String, Double> longest = dsp.longestPath(weighted, source, longestParent);
-
-        String criticalEnd = longest.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse(source);
-
-        List<String> criticalPath = dsp.reconstructPath(longestParent, criticalEnd);
-
-        System.out.println("\n=== Output ===");
-        System.out.println("Critical path: " + String.join(" -> ", criticalPath));
-        System.out.printf("Length: %.2f%n", longest.get(criticalEnd));
-
-        System.out.println("\nShortest distances from " + source + ":");
-        shortest.forEach((v, d) -> System.out.printf("  %-5s : %.2f%n", v, d));
-
-        String target = shortest.entrySet()
-                .stream()
-                .filter(e -> !e.getKey().equals(source))
-                .min(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse(null);
-
-        if (target != null) {
-            List<String> sp = dsp.reconstructPath(shortestParent, target);
-            System.out.println("\nOne optimal shortest path: " + String.join(" -> ", sp));
-            System.out.printf("Total length: %.2f%n", shortest.get(target));
+    private static DatasetResult analyse(Path path, int runs, ResultCache cache, boolean refresh) {
+        DatasetResult r = new DatasetResult(path.getFileName().toString());
+        try {
+            String key = cache != null ? cache.key(path, GraphAnalysis.PARAMS) : null;
+            if (key != null && refresh) cache.invalidate(key);
+            for (int run = 0; run < runs; run++) {
+                Metrics m = new Metrics(r.dataset);
+
+                PhaseTimer load = m.start(Phase.LOAD);
+                AnalysisResult result = key != null && runs == 1 ? cache.get(key) : null;
+                LoadedGraph g = result == null ? readGraph(path) : null;
+                load.stop();
+
+                long tStart = System.nanoTime();
+                m.startTimer();
+                if (result == null) {
+                    result = new GraphAnalysis(m).analyse(g);
+                    if (key != null && run == 0) {
+                        try {
+                            cache.put(key, result);
+                        } catch (IOException e) {
+                            // the analysis itself succeeded; only the next run misses
+                            System.err.println("Failed to cache " + r.dataset + ": " + e.getMessage());
+                        }
+                    }
+                }
+                m.stopTimer();
+                long tEnd = System.nanoTime();
+
+                r.latency.record(m);
+                if (run == 0) {
+                    r.cached = g == null;
+                    r.result = result;
+                    r.metrics = m;
+                    r.totalMs = (tEnd - tStart) / 1_000_000.0;
+                }
+            }
+        } catch (Throwable e) {
+            // includes OutOfMemoryError and StackOverflowError, so one huge graph cannot abort the batch
+            r.result = null;
+            r.failure = e;
         }
+        return r;
     }
 
-    private static String findComp(List<List<String>> comps, String node) {
-        for (int i = 0; i < comps.size(); i++)
-            if (comps.get(i).contains(node)) return "C" + i;
-        return null;
+    private static void serve(Path path, int port) throws IOException {
+        long t0 = System.nanoTime();
+        GraphIndex index = new GraphIndex(readGraph(path), 1024);
+        GraphQueryServer server = new GraphQueryServer(index, 4096);
+        server.start(port, Runtime.getRuntime().availableProcessors());
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        System.out.printf(Locale.US, "Serving %s (%d vertices, %d components) on http://127.0.0.1:%d, ready in %.1f ms%n",
+                path.getFileName(), index.vertexCount(), index.componentCount(), server.port(),
+                (System.nanoTime() - t0) / 1e6);
     }
 
-    private static void appendMetricsCSV(String dataset, double totalMs, Metrics m) {
-        try (PrintWriter pw = new PrintWriter(new FileWriter(CSV_PATH, true))) {
-            pw.printf(Locale.US,
-                    "%s,%.3f,%d,%d,%d,%d,%d,%d%n",
-                    dataset, totalMs, m.elapsedMs(), m.dfsVisits, m.dfsEdges,
-                    m.kahnPushes, m.kahnPops, m.relaxations
-            );
-        } catch (IOException e) {
-            System.err.println("Failed to write CSV: " + e.getMessage());
-        }
+    private static LoadedGraph readGraph(Path path) throws IOException {
+        if (path.toString().endsWith(BinaryGraphFormat.EXTENSION)) return BinaryGraphFormat.open(path);
+        return JsonGraphLoader.load(path);
     }
 }
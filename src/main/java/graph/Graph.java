@@ -27,6 +27,11 @@ public class Graph {
     public boolean isDirected() { return directed; }
     public String getSource() { return source; }
 
+    /** Immutable copy whose derived views are computed once and shared; hold on to it across analyses. */
+    public GraphSnapshot snapshot() {
+        return new GraphSnapshot(this);
+    }
+
     public Map<String, List<Edge>> getAdjacencyList() {
         Map<String, List<Edge>> adj = new HashMap<>();
         for (String node : nodes) adj.put(node, new ArrayList<>());
@@ -0,0 +1,107 @@
+package graph;
+
+import graph.csr.CsrGraph;
+
+import java.util.*;
+
+/**
+ * Immutable copy of a {@link Graph} whose derived views are built on first
+ * use and then shared. Views are unmodifiable and published through volatile
+ * fields; two threads racing on a cold view may both build it, but each sees
+ * a complete result. The map views follow the semantics of the matching
+ * {@code Graph} methods; the CSR views index vertices in node order and
+ * carry both directions of an undirected edge.
+ */
+public final class GraphSnapshot {
+    private final int id;
+    private final List<String> nodes;
+    private final List<Edge> edges;
+    private final boolean directed;
+    private final String source;
+
+    private volatile Map<String, List<Edge>> adjacency;
+    private volatile Map<String, List<Edge>> inAdjacency;
+    private volatile Map<String, List<String>> simple;
+    private volatile CsrGraph csr;
+    private volatile int[] inDegrees;
+
+    GraphSnapshot(Graph g) {
+        this.id = g.getId();
+        this.nodes = List.copyOf(g.getNodes());
+        this.edges = List.copyOf(g.getEdges());
+        this.directed = g.isDirected();
+        this.source = g.getSource();
+    }
+
+    public int getId() { return id; }
+    public List<String> getNodes() { return nodes; }
+    public List<Edge> getEdges() { return edges; }
+    public boolean isDirected() { return directed; }
+    public String getSource() { return source; }
+
+    public Map<String, List<Edge>> getAdjacencyList() {
+        Map<String, List<Edge>> adj = adjacency;
+        if (adj == null) {
+            Map<String, List<Edge>> m = emptyLists();
+            for (Edge e : edges) {
+                m.get(e.getFrom()).add(e);
+                if (!directed) m.get(e.getTo()).add(new Edge(e.getTo(), e.getFrom(), e.getWeight()));
+            }
+            adjacency = adj = freeze(m);
+        }
+        return adj;
+    }
+
+    /** Edges of {@link #getAdjacencyList()} grouped by their head. */
+    public Map<String, List<Edge>> getInAdjacency() {
+        Map<String, List<Edge>> adj = inAdjacency;
+        if (adj == null) {
+            Map<String, List<Edge>> m = emptyLists();
+            for (List<Edge> out : getAdjacencyList().values())
+                for (Edge e : out) m.get(e.getTo()).add(e);
+            inAdjacency = adj = freeze(m);
+        }
+        return adj;
+    }
+
+    public Map<String, List<String>> getAdjacencySimple() {
+        Map<String, List<String>> adj = simple;
+        if (adj == null) {
+            Map<String, List<String>> m = emptyLists();
+            for (Edge e : edges) m.get(e.getFrom()).add(e.getTo());
+            simple = adj = freeze(m);
+        }
+        return adj;
+    }
+
+    public CsrGraph csr() {
+        CsrGraph g = csr;
+        if (g == null) csr = g = CsrGraph.fromGraph(this);
+        return g;
+    }
+
+    public CsrGraph transpose() {
+        return csr().transpose();
+    }
+
+    public int outDegree(String node) {
+        return csr().outDegree(csr().vertex(node));
+    }
+
+    public int inDegree(String node) {
+        int[] deg = inDegrees;
+        if (deg == null) inDegrees = deg = csr().inDegrees();
+        return deg[csr().vertex(node)];
+    }
+
+    private <T> Map<String, List<T>> emptyLists() {
+        Map<String, List<T>> m = new LinkedHashMap<>();
+        for (String node : nodes) m.put(node, new ArrayList<>());
+        return m;
+    }
+
+    private static <T> Map<String, List<T>> freeze(Map<String, List<T>> m) {
+        m.replaceAll((k, v) -> List.copyOf(v));
+        return Collections.unmodifiableMap(m);
+    }
+}
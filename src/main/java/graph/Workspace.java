@@ -0,0 +1,66 @@
+package graph;
+
+import java.util.Arrays;
+
+/**
+ * Reusable scratch and result buffers for the primitive-array algorithms.
+ * Each accessor grows its buffer to at least {@code n} slots and otherwise
+ * hands back the same array, so analysing many similar-sized graphs with one
+ * workspace allocates only when a larger graph arrives. Buffers may be
+ * longer than {@code n}; only the first {@code n} entries are meaningful, and
+ * results stay valid until the next call that reuses the same buffer. A
+ * workspace is not thread-safe; use one per thread.
+ */
+public final class Workspace {
+    private long[] visited = new long[0];
+    private int[] stack = new int[0];
+    private int[] cursor = new int[0];
+    private int[] finished = new int[0];
+    private int[] compOf = new int[0];
+    private int[] indegree = new int[0];
+    private int[] order = new int[0];
+    private double[] dist = new double[0];
+    private long[] exactDist = new long[0];
+    private int[] parent = new int[0];
+
+    /** Bitset over {@code n} vertices, cleared. */
+    public long[] visited(int n) {
+        int words = (n + 63) >>> 6;
+        if (visited.length < words) visited = new long[grow(visited.length, words)];
+        else Arrays.fill(visited, 0, words, 0L);
+        return visited;
+    }
+
+    public int[] stack(int n) { return stack = ensure(stack, n); }
+    public int[] cursor(int n) { return cursor = ensure(cursor, n); }
+    public int[] finished(int n) { return finished = ensure(finished, n); }
+    public int[] compOf(int n) { return compOf = ensure(compOf, n); }
+    public int[] indegree(int n) { return indegree = ensure(indegree, n); }
+    public int[] order(int n) { return order = ensure(order, n); }
+    public int[] parent(int n) { return parent = ensure(parent, n); }
+
+    public double[] dist(int n) {
+        if (dist.length < n) dist = new double[grow(dist.length, n)];
+        return dist;
+    }
+
+    public long[] exactDist(int n) {
+        if (exactDist.length < n) exactDist = new long[grow(exactDist.length, n)];
+        return exactDist;
+    }
+
+    /** Heap bytes currently held by the buffers, excluding array headers. */
+    public long capacityBytes() {
+        return 8L * (visited.length + dist.length + exactDist.length) + 4L * (stack.length + cursor.length + finished.length
+                + compOf.length + indegree.length + order.length + parent.length);
+    }
+
+    private static int[] ensure(int[] a, int n) {
+        return a.length >= n ? a : new int[grow(a.length, n)];
+    }
+
+    // an empty buffer is sized exactly, so one-shot workspaces hand out exact-length results
+    private static int grow(int current, int needed) {
+        return current == 0 ? needed : Math.max(needed, current + (current >> 1));
+    }
+}
@@ -0,0 +1,119 @@
+package graph.analysis;
+
+import graph.csr.CsrGraph;
+import graph.dagsp.DagPaths;
+import graph.dagsp.Schedule;
+import graph.scc.Components;
+
+import java.io.*;
+
+/**
+ * Compact binary form of an {@link AnalysisResult}: big-endian primitive
+ * arrays, each prefixed by its length, behind a magic number and version.
+ * The two condensations share one offsets/targets layout on disk; a flag
+ * byte says whether their weights are stored as ints, so an integral result
+ * comes back with int weights and keeps the exact kernels.
+ */
+public final class AnalysisCodec {
+    static final int MAGIC = 0x52434147;
+    static final int VERSION = 2;
+
+    private AnalysisCodec() { }
+
+    public static void write(DataOutput out, AnalysisResult r) throws IOException {
+        CsrGraph sd = r.getShortestDag(), ld = r.getLongestDag();
+        int c = sd.vertexCount(), m = sd.edgeCount();
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+
+        writeInts(out, r.getComponents().getCompOf());
+        out.writeInt(c);
+        for (int u = 0; u <= c; u++) out.writeInt(u == c ? m : sd.begin(u));
+        out.writeInt(m);
+        for (int e = 0; e < m; e++) out.writeInt(sd.target(e));
+        int[] si = sd.intWeights(), li = ld.intWeights();
+        boolean integral = si != null && li != null;
+        out.writeBoolean(integral);
+        if (integral) {
+            for (int e = 0; e < m; e++) out.writeInt(si[e]);
+            for (int e = 0; e < m; e++) out.writeInt(li[e]);
+        } else {
+            for (int e = 0; e < m; e++) out.writeDouble(sd.weight(e));
+            for (int e = 0; e < m; e++) out.writeDouble(ld.weight(e));
+        }
+        writeInts(out, r.getOrder());
+
+        DagPaths p = r.getPaths();
+        out.writeInt(p.getSource());
+        writeDoubles(out, p.getShortest());
+        writeInts(out, p.getShortestParent());
+        writeDoubles(out, p.getLongest());
+        writeInts(out, p.getLongestParent());
+        writeInts(out, r.getCriticalPath());
+
+        Schedule s = r.getSchedule();
+        writeDoubles(out, s.getEarliest());
+        writeDoubles(out, s.getLatest());
+        out.writeDouble(s.getLength());
+    }
+
+    public static AnalysisResult read(DataInput in) throws IOException {
+        if (in.readInt() != MAGIC) throw new IOException("Not a cached result");
+        int version = in.readInt();
+        if (version != VERSION) throw new IOException("Unsupported cached result version " + version);
+
+        int[] compOf = readInts(in);
+        int c = in.readInt();
+        int[] offsets = new int[c + 1];
+        for (int u = 0; u <= c; u++) offsets[u] = in.readInt();
+        int m = in.readInt();
+        int[] targets = new int[m];
+        for (int e = 0; e < m; e++) targets[e] = in.readInt();
+        // labels follow CondensationBuilder
+        String[] labels = new String[c];
+        for (int i = 0; i < c; i++) labels[i] = "C" + i;
+        CsrGraph sd, ld;
+        if (in.readBoolean()) {
+            int[] sw = new int[m], lw = new int[m];
+            for (int e = 0; e < m; e++) sw[e] = in.readInt();
+            for (int e = 0; e < m; e++) lw[e] = in.readInt();
+            sd = new CsrGraph(c, offsets, targets, sw, labels);
+            ld = new CsrGraph(c, offsets, targets, lw, labels);
+        } else {
+            double[] sw = new double[m], lw = new double[m];
+            for (int e = 0; e < m; e++) sw[e] = in.readDouble();
+            for (int e = 0; e < m; e++) lw[e] = in.readDouble();
+            sd = new CsrGraph(c, offsets, targets, sw, labels);
+            ld = new CsrGraph(c, offsets, targets, lw, labels);
+        }
+        int[] order = readInts(in);
+
+        int source = in.readInt();
+        DagPaths paths = new DagPaths(source, readDoubles(in), readInts(in), readDoubles(in), readInts(in));
+        int[] critical = readInts(in);
+        Schedule schedule = new Schedule(ld, readDoubles(in), readDoubles(in), in.readDouble());
+        return new AnalysisResult(new Components(compOf, c), sd, ld, order, paths, critical, schedule);
+    }
+
+    private static void writeInts(DataOutput out, int[] a) throws IOException {
+        out.writeInt(a.length);
+        for (int x : a) out.writeInt(x);
+    }
+
+    private static void writeDoubles(DataOutput out, double[] a) throws IOException {
+        out.writeInt(a.length);
+        for (double x : a) out.writeDouble(x);
+    }
+
+    private static int[] readInts(DataInput in) throws IOException {
+        int[] a = new int[in.readInt()];
+        for (int i = 0; i < a.length; i++) a[i] = in.readInt();
+        return a;
+    }
+
+    private static double[] readDoubles(DataInput in) throws IOException {
+        double[] a = new double[in.readInt()];
+        for (int i = 0; i < a.length; i++) a[i] = in.readDouble();
+        return a;
+    }
+}
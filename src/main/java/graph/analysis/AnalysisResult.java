@@ -0,0 +1,42 @@
+package graph.analysis;
+
+import graph.csr.CsrGraph;
+import graph.dagsp.DagPaths;
+import graph.dagsp.Schedule;
+import graph.scc.Components;
+
+/**
+ * Everything the per-dataset report is rendered from: the component
+ * assignment (numbered in topological order), the MIN and MAX condensations
+ * sharing one edge layout, their topological order, the fused path sweep
+ * from the source component, its critical path and the global schedule.
+ */
+public class AnalysisResult {
+    private final Components components;
+    private final CsrGraph shortestDag;
+    private final CsrGraph longestDag;
+    private final int[] order;
+    private final DagPaths paths;
+    private final int[] criticalPath;
+    private final Schedule schedule;
+
+    public AnalysisResult(Components components, CsrGraph shortestDag, CsrGraph longestDag, int[] order,
+                          DagPaths paths, int[] criticalPath, Schedule schedule) {
+        this.components = components;
+        this.shortestDag = shortestDag;
+        this.longestDag = longestDag;
+        this.order = order;
+        this.paths = paths;
+        this.criticalPath = criticalPath;
+        this.schedule = schedule;
+    }
+
+    public Components getComponents() { return components; }
+    public CsrGraph getShortestDag() { return shortestDag; }
+    public CsrGraph getLongestDag() { return longestDag; }
+    public int[] getOrder() { return order; }
+    public DagPaths getPaths() { return paths; }
+    public int getSource() { return paths.getSource(); }
+    public int[] getCriticalPath() { return criticalPath; }
+    public Schedule getSchedule() { return schedule; }
+}
@@ -0,0 +1,66 @@
+package graph.analysis;
+
+import graph.csr.CsrGraph;
+import graph.csr.IntGraph;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.DagPaths;
+import graph.dagsp.Schedule;
+import graph.dagsp.ScheduleAnalysis;
+import graph.io.LoadedGraph;
+import graph.scc.CollapsePolicy;
+import graph.scc.Components;
+import graph.scc.CondensationBuilder;
+import graph.scc.TarjanSCC;
+import util.Metrics;
+import util.Phase;
+import util.PhaseTimer;
+
+/**
+ * The per-dataset pipeline: SCC, MIN/MAX condensation, fused shortest and
+ * longest paths from the source component, critical path and schedule.
+ */
+public class GraphAnalysis {
+    /**
+     * Identifies the pipeline and its stored form; part of every {@link ResultCache} key.
+     * Bump the trailing version whenever the results for an unchanged input file can change.
+     */
+    public static final String PARAMS = "tarjan;condense=MIN,MAX;fused-dagsp;schedule;v2";
+
+    private final Metrics metrics;
+
+    public GraphAnalysis(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public AnalysisResult analyse(LoadedGraph lg) {
+        IntGraph g = lg.getGraph();
+
+        Components comps = components(g);
+        PhaseTimer condensation = metrics.start(Phase.CONDENSATION);
+        CsrGraph[] dags = new CondensationBuilder().build(g, comps, CollapsePolicy.MIN, CollapsePolicy.MAX);
+        condensation.stop();
+
+        int[] order = topologicalOrder(comps);
+
+        DAGShortestPath dsp = new DAGShortestPath(metrics);
+        int source = comps.componentOf(lg.hasSource() ? lg.getSource() : 0);
+        DagPaths paths = dsp.paths(dags[0], dags[1], order, source);
+        int[] criticalPath = dsp.reconstructPath(paths.getLongestParent(), paths.getCriticalEnd());
+        Schedule schedule = new ScheduleAnalysis(metrics).analyse(dags[1], order);
+
+        return new AnalysisResult(comps, dags[0], dags[1], order, paths, criticalPath, schedule);
+    }
+
+    /** SCCs of {@code g}, numbered so that C0..Ck is a topological order of the condensation. */
+    public Components components(IntGraph g) {
+        // Tarjan emits components sinks-first; reversed, C0..Ck is already a topological order
+        return new TarjanSCC(metrics).compute(g).reversed();
+    }
+
+    /** The identity order, which is topological for components from {@link #components}. */
+    public static int[] topologicalOrder(Components comps) {
+        int[] order = new int[comps.getCount()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        return order;
+    }
+}
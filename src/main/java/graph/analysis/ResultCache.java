@@ -0,0 +1,182 @@
+package graph.analysis;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.FileTime;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Directory of {@link AnalysisResult}s keyed by the SHA-256 of the analysis
+ * parameters and the graph file's bytes, so an edited input simply misses.
+ * Each entry is one binary file; its modification time is its last use, and
+ * the least recently used entries are deleted once the entries exceed
+ * {@code maxBytes}. The directory is listed once on construction into an
+ * in-memory recency index with a running size, so a put costs no listing.
+ * Entries are written to a temp file and moved into place, so concurrent
+ * readers never see a partial entry.
+ */
+public class ResultCache {
+    static final String EXTENSION = ".result";
+    private static final AtomicLong CLOCK = new AtomicLong();
+
+    private final Path dir;
+    private final long maxBytes;
+    /** Entry sizes by key, least recently used first. */
+    private final LinkedHashMap<String, Long> index = new LinkedHashMap<>(16, 0.75f, true);
+    private long total;
+
+    public ResultCache(Path dir, long maxBytes) throws IOException {
+        if (maxBytes < 1) throw new IllegalArgumentException("maxBytes must be positive");
+        this.dir = dir;
+        this.maxBytes = maxBytes;
+        Files.createDirectories(dir);
+        List<Path> files = entries();
+        Map<Path, FileTime> used = new HashMap<>();
+        for (Path p : files) used.put(p, lastUsed(p));
+        files.sort(Comparator.comparing(used::get));
+        for (Path p : files) {
+            String name = p.getFileName().toString();
+            long size = sizeOf(p);
+            index.put(name.substring(0, name.length() - EXTENSION.length()), size);
+            total += size;
+        }
+    }
+
+    public String key(Path graphFile, String params) throws IOException {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        sha.update(params.getBytes(StandardCharsets.UTF_8));
+        sha.update((byte) 0);
+        try (InputStream in = new DigestInputStream(Files.newInputStream(graphFile), sha)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(sha.digest());
+    }
+
+    /** Cached result for {@code key}, or {@code null}. Unreadable entries are dropped. */
+    public AnalysisResult get(String key) throws IOException {
+        Path file = entry(key);
+        if (!Files.exists(file)) {
+            forget(key);
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            AnalysisResult r = AnalysisCodec.read(in);
+            touch(file);
+            used(key, sizeOf(file));
+            return r;
+        } catch (NoSuchFileException e) {
+            forget(key);
+            return null;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            forget(key);
+            return null;
+        }
+    }
+
+    public void put(String key, AnalysisResult r) throws IOException {
+        Path tmp = Files.createTempFile(dir, key, ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+                AnalysisCodec.write(out, r);
+            }
+            Path file = entry(key);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            touch(file);
+            used(key, sizeOf(file));
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        evict();
+    }
+
+    public boolean invalidate(String key) throws IOException {
+        forget(key);
+        return Files.deleteIfExists(entry(key));
+    }
+
+    public void clear() throws IOException {
+        synchronized (index) {
+            index.clear();
+            total = 0;
+        }
+        for (Path p : entries()) Files.deleteIfExists(p);
+    }
+
+    /** Size of the entries this cache knows of. */
+    public long sizeBytes() {
+        synchronized (index) {
+            return total;
+        }
+    }
+
+    private void used(String key, long size) {
+        synchronized (index) {
+            Long old = index.put(key, size);
+            total += size - (old == null ? 0 : old);
+        }
+    }
+
+    private void forget(String key) {
+        synchronized (index) {
+            Long old = index.remove(key);
+            if (old != null) total -= old;
+        }
+    }
+
+    private void evict() throws IOException {
+        List<String> victims = new ArrayList<>();
+        synchronized (index) {
+            Iterator<Map.Entry<String, Long>> it = index.entrySet().iterator();
+            while (total > maxBytes && it.hasNext()) {
+                Map.Entry<String, Long> lru = it.next();
+                victims.add(lru.getKey());
+                total -= lru.getValue();
+                it.remove();
+            }
+        }
+        for (String key : victims) Files.deleteIfExists(entry(key));
+    }
+
+    private List<Path> entries() throws IOException {
+        try (var listing = Files.list(dir)) {
+            return new ArrayList<>(listing.filter(p -> p.getFileName().toString().endsWith(EXTENSION)).toList());
+        }
+    }
+
+    private Path entry(String key) {
+        return dir.resolve(key + EXTENSION);
+    }
+
+    // strictly increasing within the process so that back-to-back uses still order correctly
+    private static void touch(Path file) throws IOException {
+        long now = CLOCK.updateAndGet(last -> Math.max(last + 1, System.currentTimeMillis()));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(now));
+    }
+
+    private static FileTime lastUsed(Path p) {
+        try {
+            return Files.getLastModifiedTime(p);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static long sizeOf(Path p) {
+        try {
+            return Files.size(p);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package graph.csr;
+
+import graph.Edge;
+import graph.Graph;
+import graph.GraphSnapshot;
+
+import java.util.*;
+
+/**
+ * Compressed-sparse-row directed graph over vertex ids {@code 0..n-1}.
+ * Out-edges of {@code u} occupy {@code [offsets[u], offsets[u + 1])} in
+ * {@code targets}/{@code weights}. When {@code labels} is {@code null} the
+ * label of a vertex is its id. The transpose is built on first use and kept,
+ * linked back to this graph. Integral weights may be stored as an {@code int[]}
+ * instead, which {@link #intWeights()} exposes to the integer kernels.
+ */
+public final class CsrGraph implements IntGraph {
+    private final int n;
+    private final int[] offsets;
+    private final int[] targets;
+    private final double[] weights;
+    private final int[] intWeights;
+    private final String[] labels;
+    private volatile Map<String, Integer> ids;
+    private volatile CsrGraph transposed;
+
+    public CsrGraph(int n, int[] offsets, int[] targets, double[] weights, String[] labels) {
+        this(n, offsets, targets, weights, null, weights.length, labels);
+    }
+
+    public CsrGraph(int n, int[] offsets, int[] targets, int[] weights, String[] labels) {
+        this(n, offsets, targets, null, weights, weights.length, labels);
+    }
+
+    private CsrGraph(int n, int[] offsets, int[] targets, double[] weights, int[] intWeights, int weightCount,
+                     String[] labels) {
+        if (offsets.length != n + 1)
+            throw new IllegalArgumentException("offsets must have length n + 1");
+        if (weightCount < offsets[n] || targets.length < offsets[n])
+            throw new IllegalArgumentException("targets/weights shorter than edge count");
+        if (labels != null && labels.length != n)
+            throw new IllegalArgumentException("labels must have length n");
+        this.n = n;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+        this.intWeights = intWeights;
+        this.labels = labels;
+    }
+
+    public static CsrGraph fromEdges(int n, int m, int[] from, int[] to, double[] w, String[] labels) {
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < m; i++) offsets[from[i] + 1]++;
+        for (int u = 0; u < n; u++) offsets[u + 1] += offsets[u];
+
+        int[] cursor = Arrays.copyOf(offsets, n);
+        int[] targets = new int[m];
+        double[] weights = new double[m];
+        for (int i = 0; i < m; i++) {
+            int slot = cursor[from[i]]++;
+            targets[slot] = to[i];
+            weights[slot] = w == null ? 1.0 : w[i];
+        }
+        return new CsrGraph(n, offsets, targets, weights, labels);
+    }
+
+    public static CsrGraph fromIntEdges(int n, int m, int[] from, int[] to, int[] w, String[] labels) {
+        int[] offsets = new int[n + 1];
+        for (int i = 0; i < m; i++) offsets[from[i] + 1]++;
+        for (int u = 0; u < n; u++) offsets[u + 1] += offsets[u];
+
+        int[] cursor = Arrays.copyOf(offsets, n);
+        int[] targets = new int[m];
+        int[] weights = new int[m];
+        for (int i = 0; i < m; i++) {
+            int slot = cursor[from[i]]++;
+            targets[slot] = to[i];
+            weights[slot] = w[i];
+        }
+        return new CsrGraph(n, offsets, targets, weights, labels);
+    }
+
+    /** The weights as integers when every one is a whole number in {@code int} range, else {@code null}. */
+    public static int[] narrow(double[] w, int m) {
+        int[] out = new int[m];
+        for (int i = 0; i < m; i++) {
+            int x = (int) w[i];
+            if (x != w[i] || x == Integer.MIN_VALUE || x == Integer.MAX_VALUE) return null;
+            out[i] = x;
+        }
+        return out;
+    }
+
+    public static CsrGraph fromGraph(Graph g) {
+        return fromEdges(g.getNodes(), g.getEdges(), g.isDirected());
+    }
+
+    public static CsrGraph fromGraph(GraphSnapshot g) {
+        return fromEdges(g.getNodes(), g.getEdges(), g.isDirected());
+    }
+
+    private static CsrGraph fromEdges(List<String> nodes, List<Edge> edges, boolean directed) {
+        Map<String, Integer> index = new HashMap<>();
+        String[] labels = new String[nodes.size()];
+        for (String node : nodes) {
+            index.put(node, index.size());
+            labels[index.get(node)] = node;
+        }
+
+        int m = directed ? edges.size() : 2 * edges.size();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        double[] w = new double[m];
+        int k = 0;
+        for (Edge e : edges) {
+            int u = index.get(e.getFrom());
+            int v = index.get(e.getTo());
+            from[k] = u; to[k] = v; w[k++] = e.getWeight();
+            if (!directed) {
+                from[k] = v; to[k] = u; w[k++] = e.getWeight();
+            }
+        }
+        return fromEdges(labels.length, m, from, to, w, labels);
+    }
+
+    public static CsrGraph fromAdjacency(Map<String, List<String>> adj) {
+        Map<String, Integer> index = indexLabels(adj.keySet(), adj.values(), s -> s);
+        int m = 0;
+        for (List<String> vs : adj.values()) m += vs.size();
+
+        int[] from = new int[m];
+        int[] to = new int[m];
+        int k = 0;
+        for (var e : adj.entrySet()) {
+            int u = index.get(e.getKey());
+            for (String v : e.getValue()) {
+                from[k] = u;
+                to[k++] = index.get(v);
+            }
+        }
+        return fromEdges(index.size(), m, from, to, null, index.keySet().toArray(new String[0]));
+    }
+
+    public static CsrGraph fromWeighted(Map<String, List<Edge>> adj) {
+        Map<String, Integer> index = indexLabels(adj.keySet(), adj.values(), Edge::getTo);
+        int m = 0;
+        for (List<Edge> es : adj.values()) m += es.size();
+
+        int[] from = new int[m];
+        int[] to = new int[m];
+        double[] w = new double[m];
+        int k = 0;
+        for (var e : adj.entrySet()) {
+            int u = index.get(e.getKey());
+            for (Edge ed : e.getValue()) {
+                from[k] = u;
+                to[k] = index.get(ed.getTo());
+                w[k++] = ed.getWeight();
+            }
+        }
+        return fromEdges(index.size(), m, from, to, w, index.keySet().toArray(new String[0]));
+    }
+
+    private static <T> Map<String, Integer> indexLabels(Collection<String> keys, Collection<List<T>> values,
+                                                        java.util.function.Function<T, String> target) {
+        Map<String, Integer> index = new LinkedHashMap<>();
+        for (String u : keys) index.putIfAbsent(u, index.size());
+        for (List<T> vs : values)
+            for (T v : vs) index.putIfAbsent(target.apply(v), index.size());
+        return index;
+    }
+
+    @Override public int vertexCount() { return n; }
+    @Override public int edgeCount() { return offsets[n]; }
+    @Override public int begin(int u) { return offsets[u]; }
+    @Override public int end(int u) { return offsets[u + 1]; }
+    @Override public int outDegree(int u) { return offsets[u + 1] - offsets[u]; }
+    @Override public int target(int e) { return targets[e]; }
+    @Override public double weight(int e) { return intWeights != null ? intWeights[e] : weights[e]; }
+
+    /** Integer edge weights, or {@code null} when this graph stores {@code double} weights. */
+    public int[] intWeights() { return intWeights; }
+
+    @Override
+    public String label(int u) {
+        return labels == null ? String.valueOf(u) : labels[u];
+    }
+
+    @Override
+    public int id(String label) {
+        if (labels == null) {
+            try {
+                int u = Integer.parseInt(label);
+                return u >= 0 && u < n ? u : -1;
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+        Map<String, Integer> index = ids;
+        if (index == null) {
+            // built fully before the volatile write, so concurrent readers never see a partial map
+            Map<String, Integer> m = new HashMap<>();
+            for (int u = 0; u < n; u++) m.put(labels[u], u);
+            ids = index = m;
+        }
+        return index.getOrDefault(label, -1);
+    }
+
+    @Override
+    public int[] inDegrees() {
+        int[] indeg = new int[n];
+        for (int e = 0; e < offsets[n]; e++) indeg[targets[e]]++;
+        return indeg;
+    }
+
+    @Override
+    public CsrGraph transpose() {
+        CsrGraph t = transposed;
+        if (t != null) return t;
+        int m = offsets[n];
+        int[] from = new int[m];
+        int[] to = new int[m];
+        for (int u = 0; u < n; u++) {
+            for (int e = offsets[u]; e < offsets[u + 1]; e++) {
+                from[e] = targets[e];
+                to[e] = u;
+            }
+        }
+        t = intWeights != null ? fromIntEdges(n, m, from, to, intWeights, labels)
+                : fromEdges(n, m, from, to, weights, labels);
+        t.transposed = this;
+        return transposed = t;
+    }
+}
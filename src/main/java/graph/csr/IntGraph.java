@@ -0,0 +1,56 @@
+package graph.csr;
+
+import java.util.*;
+
+/**
+ * Read-only, int-indexed directed graph in CSR layout: the out-edges of
+ * {@code u} are the edge slots {@code [begin(u), end(u))}. Implemented by the
+ * heap-backed {@link CsrGraph} and the memory-mapped {@link MappedCsrGraph}.
+ */
+public interface IntGraph {
+    int vertexCount();
+    int edgeCount();
+    int begin(int u);
+    int end(int u);
+    int target(int e);
+    double weight(int e);
+    String label(int u);
+    /** Vertex labelled {@code label}, or -1 when there is none. */
+    int id(String label);
+
+    /** Like {@link #id} but rejects unknown labels, for callers that index arrays with the result. */
+    default int vertex(String label) {
+        int u = id(label);
+        if (u < 0) throw new IllegalArgumentException("Unknown vertex " + label);
+        return u;
+    }
+
+    default int outDegree(int u) { return end(u) - begin(u); }
+
+    default int[] inDegrees() {
+        int[] indeg = new int[vertexCount()];
+        for (int e = 0; e < edgeCount(); e++) indeg[target(e)]++;
+        return indeg;
+    }
+
+    default CsrGraph transpose() {
+        int n = vertexCount(), m = edgeCount();
+        int[] from = new int[m];
+        int[] to = new int[m];
+        double[] w = new double[m];
+        for (int u = 0; u < n; u++) {
+            for (int e = begin(u); e < end(u); e++) {
+                from[e] = target(e);
+                to[e] = u;
+                w[e] = weight(e);
+            }
+        }
+        return CsrGraph.fromEdges(n, m, from, to, w, null);
+    }
+
+    default List<String> labels(int[] vertices) {
+        List<String> out = new ArrayList<>(vertices.length);
+        for (int v : vertices) out.add(label(v));
+        return out;
+    }
+}
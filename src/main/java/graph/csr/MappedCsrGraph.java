@@ -0,0 +1,47 @@
+package graph.csr;
+
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+
+/**
+ * CSR graph whose offsets, targets and weights are views over a memory-mapped
+ * file (see {@code graph.io.BinaryGraphFormat}). Nothing is copied to the heap; reads
+ * use absolute buffer gets, so one instance can be shared between threads.
+ */
+public final class MappedCsrGraph implements IntGraph {
+    private final int n;
+    private final int m;
+    private final IntBuffer offsets;
+    private final IntBuffer targets;
+    private final DoubleBuffer weights;
+
+    public MappedCsrGraph(int n, int m, IntBuffer offsets, IntBuffer targets, DoubleBuffer weights) {
+        this.n = n;
+        this.m = m;
+        this.offsets = offsets;
+        this.targets = targets;
+        this.weights = weights;
+    }
+
+    @Override public int vertexCount() { return n; }
+    @Override public int edgeCount() { return m; }
+    @Override public int begin(int u) { return offsets.get(u); }
+    @Override public int end(int u) { return offsets.get(u + 1); }
+    @Override public int target(int e) { return targets.get(e); }
+    @Override public double weight(int e) { return weights.get(e); }
+
+    @Override
+    public String label(int u) {
+        return String.valueOf(u);
+    }
+
+    @Override
+    public int id(String label) {
+        try {
+            int u = Integer.parseInt(label);
+            return u >= 0 && u < n ? u : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -1,72 +1,331 @@
 package graph.dagsp;
 
 import graph.Edge;
+import graph.Workspace;
+import graph.csr.CsrGraph;
+import graph.csr.IntGraph;
 import graph.topo.KahnTopo;
 import util.Metrics;
+import util.Phase;
+import util.PhaseTimer;
 
 import java.util.*;
 
+/**
+ * Single-source shortest and longest paths over a DAG by relaxing edges in
+ * topological order. Graphs with integer weights ({@link CsrGraph#intWeights()})
+ * are relaxed with {@code long} distances and converted only at the end, so the
+ * results are exact; the {@code exact*} methods return the raw distances.
+ */
 public class DAGShortestPath {
+    /**
+     * Distances of vertices the integer kernels never reach. Unreached vertices
+     * are skipped rather than relaxed, and a reached distance is a sum of fewer
+     * than n ints, so no addition can overflow into a sentinel.
+     */
+    public static final long UNREACHED_SHORTEST = Long.MAX_VALUE;
+    public static final long UNREACHED_LONGEST = Long.MIN_VALUE;
+
     private final Metrics metrics;
+    private final Map<IntGraph, int[]> orders = Collections.synchronizedMap(new WeakHashMap<>());
 
     public DAGShortestPath(Metrics metrics) {
         this.metrics = metrics;
     }
 
+    public int[] topologicalOrder(IntGraph g) {
+        return orders.computeIfAbsent(g, k -> new KahnTopo(metrics).sort(k));
+    }
+
     public Map<String, Double> shortestPath(Map<String, List<Edge>> adj, String src, Map<String, String> parent) {
-        Map<String, List<String>> simple = new HashMap<>();
-        for (var e : adj.entrySet()) {
-            List<String> vs = new ArrayList<>();
-            for (Edge ed : e.getValue()) vs.add(ed.getTo());
-            simple.put(e.getKey(), vs);
-        }
+        CsrGraph g = CsrGraph.fromWeighted(adj);
+        int[] par = new int[g.vertexCount()];
+        double[] dist = shortestPath(g, g.vertex(src), par);
+        return toMaps(g, dist, par, parent);
+    }
 
-        List<String> topoOrder = new KahnTopo(metrics).sort(simple);
+    public Map<String, Double> longestPath(Map<String, List<Edge>> adj, String src, Map<String, String> parent) {
+        CsrGraph g = CsrGraph.fromWeighted(adj);
+        int[] par = new int[g.vertexCount()];
+        double[] dist = longestPath(g, g.vertex(src), par);
+        return toMaps(g, dist, par, parent);
+    }
 
-        Map<String, Double> dist = new HashMap<>();
-        for (String u : adj.keySet()) dist.put(u, Double.POSITIVE_INFINITY);
-        dist.put(src, 0.0);
+    public double[] shortestPath(IntGraph g, int src, int[] parent) {
+        int[] topoOrder = topologicalOrder(g);
+        return sweep(g, topoOrder, src, new double[g.vertexCount()], parent, false, null);
+    }
 
-        for (String u : topoOrder) {
-            if (dist.get(u) == Double.POSITIVE_INFINITY) continue;
-            for (Edge e : adj.getOrDefault(u, List.of())) {
+    public double[] longestPath(IntGraph g, int src, int[] parent) {
+        int[] topoOrder = topologicalOrder(g);
+        return sweep(g, topoOrder, src, new double[g.vertexCount()], parent, true, null);
+    }
+
+    /**
+     * Sorts {@code g} and relaxes it entirely inside {@code ws}: distances land
+     * in {@code ws.dist(n)} (which is returned) and parents in {@code ws.parent(n)}.
+     */
+    public double[] shortestPath(IntGraph g, int src, Workspace ws) {
+        int n = g.vertexCount();
+        int[] topoOrder = new KahnTopo(metrics).sort(g, ws);
+        return sweep(g, topoOrder, src, ws.dist(n), ws.parent(n), false, ws);
+    }
+
+    public double[] longestPath(IntGraph g, int src, Workspace ws) {
+        int n = g.vertexCount();
+        int[] topoOrder = new KahnTopo(metrics).sort(g, ws);
+        return sweep(g, topoOrder, src, ws.dist(n), ws.parent(n), true, ws);
+    }
+
+    public long[] exactShortestPath(CsrGraph g, int src, int[] parent) {
+        return sweep(g, intWeights(g), topologicalOrder(g), src, new long[g.vertexCount()], parent, false);
+    }
+
+    public long[] exactLongestPath(CsrGraph g, int src, int[] parent) {
+        return sweep(g, intWeights(g), topologicalOrder(g), src, new long[g.vertexCount()], parent, true);
+    }
+
+    private static int[] intWeights(CsrGraph g) {
+        int[] w = g.intWeights();
+        if (w == null) throw new IllegalArgumentException("Graph does not have integer weights");
+        return w;
+    }
+
+    private double[] sweep(IntGraph g, int[] topoOrder, int src, double[] dist, int[] parent, boolean longest,
+                           Workspace ws) {
+        int n = g.vertexCount();
+        if (g instanceof CsrGraph csr && csr.intWeights() != null) {
+            long[] exact = sweep(csr, csr.intWeights(), topoOrder, src,
+                    ws != null ? ws.exactDist(n) : new long[n], parent, longest);
+            for (int v = 0; v < n; v++) dist[v] = toDouble(exact[v]);
+            return dist;
+        }
+        PhaseTimer timer = metrics.start(longest ? Phase.LONGEST_PATH : Phase.SHORTEST_PATH);
+        double unreached = longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY;
+        Arrays.fill(dist, 0, n, unreached);
+        Arrays.fill(parent, 0, n, -1);
+        dist[src] = 0.0;
+
+        for (int i = 0; i < n; i++) {
+            int u = topoOrder[i];
+            if (dist[u] == unreached) continue;
+            for (int e = g.begin(u); e < g.end(u); e++) {
                 metrics.relaxations++;
-                double newDist = dist.get(u) + e.getWeight();
-                if (newDist < dist.get(e.getTo())) {
-                    dist.put(e.getTo(), newDist);
-                    parent.put(e.getTo(), u);
+                int v = g.target(e);
+                double newDist = dist[u] + g.weight(e);
+                if (longest ? newDist > dist[v] : newDist < dist[v]) {
+                    dist[v] = newDist;
+                    parent[v] = u;
                 }
             }
         }
+        timer.stop();
         return dist;
     }
 
-    public Map<String, Double> longestPath(Map<String, List<Edge>> adj, String src, Map<String, String> parent) {
-        Map<String, List<String>> simple = new HashMap<>();
-        for (var e : adj.entrySet()) {
-            List<String> vs = new ArrayList<>();
-            for (Edge ed : e.getValue()) vs.add(ed.getTo());
-            simple.put(e.getKey(), vs);
+    private long[] sweep(CsrGraph g, int[] w, int[] topoOrder, int src, long[] dist, int[] parent, boolean longest) {
+        PhaseTimer timer = metrics.start(longest ? Phase.LONGEST_PATH : Phase.SHORTEST_PATH);
+        int n = g.vertexCount();
+        long unreached = longest ? UNREACHED_LONGEST : UNREACHED_SHORTEST;
+        Arrays.fill(dist, 0, n, unreached);
+        Arrays.fill(parent, 0, n, -1);
+        dist[src] = 0;
+
+        for (int i = 0; i < n; i++) {
+            int u = topoOrder[i];
+            long du = dist[u];
+            if (du == unreached) continue;
+            int end = g.end(u);
+            metrics.relaxations += end - g.begin(u);
+            for (int e = g.begin(u); e < end; e++) {
+                int v = g.target(e);
+                long d = du + w[e];
+                if (longest ? d > dist[v] : d < dist[v]) {
+                    dist[v] = d;
+                    parent[v] = u;
+                }
+            }
         }
+        timer.stop();
+        return dist;
+    }
+
+    private static double toDouble(long d) {
+        if (d == UNREACHED_SHORTEST) return Double.POSITIVE_INFINITY;
+        if (d == UNREACHED_LONGEST) return Double.NEGATIVE_INFINITY;
+        return d;
+    }
 
-        List<String> topoOrder = new KahnTopo(metrics).sort(simple);
+    public MultiSourcePaths shortestPaths(IntGraph g, int[] sources) {
+        return shortestPaths(g, topologicalOrder(g), sources);
+    }
 
-        Map<String, Double> dist = new HashMap<>();
-        for (String u : adj.keySet()) dist.put(u, Double.NEGATIVE_INFINITY);
-        dist.put(src, 0.0);
+    public MultiSourcePaths longestPaths(IntGraph g, int[] sources) {
+        return longestPaths(g, topologicalOrder(g), sources);
+    }
 
-        for (String u : topoOrder) {
-            if (dist.get(u) == Double.NEGATIVE_INFINITY) continue;
-            for (Edge e : adj.getOrDefault(u, List.of())) {
+    public DagPaths paths(IntGraph g, int src) {
+        return paths(g, g, topologicalOrder(g), src);
+    }
+
+    public DagPaths paths(IntGraph g, int[] topoOrder, int src) {
+        return paths(g, g, topoOrder, src);
+    }
+
+    /**
+     * Shortest and longest distances from {@code src} in one sweep. Both graphs
+     * must share the same edge layout and differ only in weights, as the graphs
+     * from one {@code CondensationBuilder.build} call with several policies do.
+     * The fused sweep is timed as {@link Phase#PATHS}.
+     */
+    public DagPaths paths(IntGraph shortestG, IntGraph longestG, int[] topoOrder, int src) {
+        if (shortestG.edgeCount() != longestG.edgeCount() || shortestG.vertexCount() != longestG.vertexCount())
+            throw new IllegalArgumentException("Graphs must share the same edge layout");
+        if (shortestG instanceof CsrGraph s && s.intWeights() != null
+                && longestG instanceof CsrGraph l && l.intWeights() != null)
+            return paths(s, s.intWeights(), l.intWeights(), topoOrder, src);
+
+        PhaseTimer timer = metrics.start(Phase.PATHS);
+        int n = shortestG.vertexCount();
+        double[] sd = new double[n];
+        double[] ld = new double[n];
+        int[] sp = new int[n];
+        int[] lp = new int[n];
+        Arrays.fill(sd, Double.POSITIVE_INFINITY);
+        Arrays.fill(ld, Double.NEGATIVE_INFINITY);
+        Arrays.fill(sp, -1);
+        Arrays.fill(lp, -1);
+        sd[src] = 0.0;
+        ld[src] = 0.0;
+
+        // both distances are finite on exactly the vertices reachable from src
+        for (int u : topoOrder) {
+            double du = sd[u], lu = ld[u];
+            if (du == Double.POSITIVE_INFINITY) continue;
+            for (int e = shortestG.begin(u); e < shortestG.end(u); e++) {
                 metrics.relaxations++;
-                double newDist = dist.get(u) + e.getWeight();
-                if (newDist > dist.get(e.getTo())) {
-                    dist.put(e.getTo(), newDist);
-                    parent.put(e.getTo(), u);
+                int v = shortestG.target(e);
+                double s = du + shortestG.weight(e);
+                if (s < sd[v]) {
+                    sd[v] = s;
+                    sp[v] = u;
+                }
+                double l = lu + longestG.weight(e);
+                if (l > ld[v]) {
+                    ld[v] = l;
+                    lp[v] = u;
                 }
             }
         }
-        return dist;
+        timer.stop();
+        return new DagPaths(src, sd, sp, ld, lp);
+    }
+
+    private DagPaths paths(CsrGraph g, int[] sw, int[] lw, int[] topoOrder, int src) {
+        PhaseTimer timer = metrics.start(Phase.PATHS);
+        int n = g.vertexCount();
+        long[] sd = new long[n];
+        long[] ld = new long[n];
+        int[] sp = new int[n];
+        int[] lp = new int[n];
+        Arrays.fill(sd, UNREACHED_SHORTEST);
+        Arrays.fill(ld, UNREACHED_LONGEST);
+        Arrays.fill(sp, -1);
+        Arrays.fill(lp, -1);
+        sd[src] = 0;
+        ld[src] = 0;
+
+        for (int u : topoOrder) {
+            long du = sd[u], lu = ld[u];
+            if (du == UNREACHED_SHORTEST) continue;
+            int end = g.end(u);
+            metrics.relaxations += end - g.begin(u);
+            for (int e = g.begin(u); e < end; e++) {
+                int v = g.target(e);
+                long s = du + sw[e];
+                if (s < sd[v]) {
+                    sd[v] = s;
+                    sp[v] = u;
+                }
+                long l = lu + lw[e];
+                if (l > ld[v]) {
+                    ld[v] = l;
+                    lp[v] = u;
+                }
+            }
+        }
+        double[] sdd = new double[n];
+        double[] ldd = new double[n];
+        for (int v = 0; v < n; v++) {
+            sdd[v] = toDouble(sd[v]);
+            ldd[v] = toDouble(ld[v]);
+        }
+        timer.stop();
+        return new DagPaths(src, sdd, sp, ldd, lp);
+    }
+
+    public MultiSourcePaths shortestPaths(IntGraph g, int[] topoOrder, int[] sources) {
+        return multiSource(g, topoOrder, sources, false);
+    }
+
+    public MultiSourcePaths longestPaths(IntGraph g, int[] topoOrder, int[] sources) {
+        return multiSource(g, topoOrder, sources, true);
+    }
+
+    // One sweep over the order relaxes every edge for all k sources. Unreached
+    // entries stay infinite because inf + w never improves on inf.
+    private MultiSourcePaths multiSource(IntGraph g, int[] topoOrder, int[] sources, boolean longest) {
+        int n = g.vertexCount(), k = sources.length;
+        int cells;
+        try {
+            cells = Math.multiplyExact(n, k);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(n + " vertices x " + k + " sources exceeds the array size limit", e);
+        }
+        PhaseTimer timer = metrics.start(longest ? Phase.LONGEST_PATH : Phase.SHORTEST_PATH);
+        double[] dist = new double[cells];
+        int[] parent = new int[cells];
+        Arrays.fill(dist, longest ? Double.NEGATIVE_INFINITY : Double.POSITIVE_INFINITY);
+        Arrays.fill(parent, -1);
+        for (int s = 0; s < k; s++) dist[sources[s] * k + s] = 0.0;
+
+        for (int u : topoOrder) {
+            int base = u * k;
+            for (int e = g.begin(u); e < g.end(u); e++) {
+                int v = g.target(e);
+                double w = g.weight(e);
+                int vb = v * k;
+                if (longest) {
+                    for (int s = 0; s < k; s++) {
+                        double d = dist[base + s] + w;
+                        if (d > dist[vb + s]) {
+                            dist[vb + s] = d;
+                            parent[vb + s] = u;
+                        }
+                    }
+                } else {
+                    for (int s = 0; s < k; s++) {
+                        double d = dist[base + s] + w;
+                        if (d < dist[vb + s]) {
+                            dist[vb + s] = d;
+                            parent[vb + s] = u;
+                        }
+                    }
+                }
+            }
+            metrics.relaxations += (long) k * g.outDegree(u);
+        }
+        timer.stop();
+        return new MultiSourcePaths(sources.clone(), dist, parent);
+    }
+
+    private static Map<String, Double> toMaps(IntGraph g, double[] dist, int[] par, Map<String, String> parent) {
+        Map<String, Double> out = new HashMap<>();
+        for (int u = 0; u < dist.length; u++) {
+            out.put(g.label(u), dist[u]);
+            if (par[u] != -1) parent.put(g.label(u), g.label(par[u]));
+        }
+        return out;
     }
 
     public String getCriticalEnd(Map<String, Double> longestDist) {
@@ -86,4 +345,12 @@ public class DAGShortestPath {
         }
         return path;
     }
+
+    public int[] reconstructPath(int[] parent, int end) {
+        int len = 0;
+        for (int cur = end; cur != -1; cur = parent[cur]) len++;
+        int[] path = new int[len];
+        for (int cur = end; cur != -1; cur = parent[cur]) path[--len] = cur;
+        return path;
+    }
 }
@@ -0,0 +1,30 @@
+package graph.dagsp;
+
+public class DagPaths {
+    private final int source;
+    private final double[] shortest;
+    private final int[] shortestParent;
+    private final double[] longest;
+    private final int[] longestParent;
+
+    public DagPaths(int source, double[] shortest, int[] shortestParent, double[] longest, int[] longestParent) {
+        this.source = source;
+        this.shortest = shortest;
+        this.shortestParent = shortestParent;
+        this.longest = longest;
+        this.longestParent = longestParent;
+    }
+
+    public int getSource() { return source; }
+    public double[] getShortest() { return shortest; }
+    public int[] getShortestParent() { return shortestParent; }
+    public double[] getLongest() { return longest; }
+    public int[] getLongestParent() { return longestParent; }
+
+    public int getCriticalEnd() {
+        int end = source;
+        for (int v = 0; v < longest.length; v++)
+            if (longest[v] > longest[end]) end = v;
+        return end;
+    }
+}
@@ -0,0 +1,38 @@
+package graph.dagsp;
+
+/**
+ * Distances and parents from {@code k} sources over {@code n} vertices,
+ * stored vertex-major: the {@code k} values for vertex {@code v} sit next to
+ * each other at {@code [v * k, v * k + k)}, so relaxing an edge for all
+ * sources touches two contiguous runs.
+ */
+public class MultiSourcePaths {
+    private final int[] sources;
+    private final double[] dist;
+    private final int[] parent;
+
+    MultiSourcePaths(int[] sources, double[] dist, int[] parent) {
+        this.sources = sources;
+        this.dist = dist;
+        this.parent = parent;
+    }
+
+    public int sourceCount() { return sources.length; }
+    public int source(int s) { return sources[s]; }
+    public double distance(int s, int v) { return dist[v * sources.length + s]; }
+    public int parent(int s, int v) { return parent[v * sources.length + s]; }
+
+    public double[] distances(int s) {
+        int k = sources.length;
+        double[] out = new double[dist.length / k];
+        for (int v = 0; v < out.length; v++) out[v] = dist[v * k + s];
+        return out;
+    }
+
+    public int[] parents(int s) {
+        int k = sources.length;
+        int[] out = new int[parent.length / k];
+        for (int v = 0; v < out.length; v++) out[v] = parent[v * k + s];
+        return out;
+    }
+}
@@ -0,0 +1,139 @@
+package graph.dagsp;
+
+import graph.csr.IntGraph;
+import graph.topo.ParallelKahnTopo;
+import graph.topo.TopoLevels;
+import util.Metrics;
+import util.Phase;
+import util.PhaseTimer;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Wavefront variant of {@link DAGShortestPath#paths(IntGraph, IntGraph, int[], int)}:
+ * vertices are grouped into topological levels and every vertex of a level
+ * pulls its shortest and longest distance over its in-edges in parallel. A
+ * vertex only reads earlier levels and only writes its own slots, so the
+ * distance arrays need no atomics. Ties are broken by position in
+ * {@code topoOrder}, which makes distances and parents identical to the
+ * sequential sweep over the same order. Levels smaller than
+ * {@link #PARALLEL_LEVEL} are relaxed on the calling thread.
+ */
+public class ParallelDagPaths {
+    private static final int PARALLEL_LEVEL = 2048;
+
+    private final Metrics metrics;
+    private final int parallelism;
+
+    public ParallelDagPaths(Metrics metrics) {
+        this(metrics, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelDagPaths(Metrics metrics, int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1");
+        this.metrics = metrics;
+        this.parallelism = parallelism;
+    }
+
+    public DagPaths paths(IntGraph g, int[] topoOrder, int src) {
+        return paths(g, g, topoOrder, src);
+    }
+
+    public DagPaths paths(IntGraph shortestG, IntGraph longestG, int[] topoOrder, int src) {
+        TopoLevels levels = new ParallelKahnTopo(metrics, parallelism).sort(shortestG);
+        return paths(shortestG, longestG, levels, topoOrder, src);
+    }
+
+    /** Reuses {@code levels} of the shared edge layout, e.g. across many sources. */
+    public DagPaths paths(IntGraph shortestG, IntGraph longestG, TopoLevels levels, int[] topoOrder, int src) {
+        if (shortestG.edgeCount() != longestG.edgeCount() || shortestG.vertexCount() != longestG.vertexCount())
+            throw new IllegalArgumentException("Graphs must share the same edge layout");
+
+        IntGraph rs = shortestG.transpose();
+        IntGraph rl = longestG == shortestG ? rs : longestG.transpose();
+        PhaseTimer timer = metrics.start(Phase.PATHS);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Sweep sweep = new Sweep(rs, rl, topoOrder, src);
+            pool.submit(() -> sweep.run(levels)).join();
+            metrics.relaxations += sweep.relaxations.sum();
+            return new DagPaths(src, sweep.sd, sweep.sp, sweep.ld, sweep.lp);
+        } finally {
+            pool.shutdown();
+            timer.stop();
+        }
+    }
+
+    private static final class Sweep {
+        final IntGraph rs, rl;
+        final int src;
+        final int[] pos;
+        final double[] sd, ld;
+        final int[] sp, lp;
+        final LongAdder relaxations = new LongAdder();
+
+        Sweep(IntGraph rs, IntGraph rl, int[] topoOrder, int src) {
+            int n = rs.vertexCount();
+            this.rs = rs;
+            this.rl = rl;
+            this.src = src;
+            this.pos = new int[n];
+            for (int i = 0; i < topoOrder.length; i++) pos[topoOrder[i]] = i;
+            this.sd = new double[n];
+            this.ld = new double[n];
+            this.sp = new int[n];
+            this.lp = new int[n];
+            Arrays.fill(sd, Double.POSITIVE_INFINITY);
+            Arrays.fill(ld, Double.NEGATIVE_INFINITY);
+            Arrays.fill(sp, -1);
+            Arrays.fill(lp, -1);
+            sd[src] = 0.0;
+            ld[src] = 0.0;
+        }
+
+        void run(TopoLevels levels) {
+            int[] order = levels.getOrder();
+            // nothing before src's level is reachable from it
+            for (int k = levels.getLevel()[src] + 1; k < levels.getLevelCount(); k++) {
+                int from = levels.levelStart(k), to = levels.levelEnd(k);
+                if (to - from < PARALLEL_LEVEL) {
+                    long pulled = 0;
+                    for (int i = from; i < to; i++) pulled += pull(order[i]);
+                    relaxations.add(pulled);
+                } else {
+                    IntStream.range(from, to).parallel().forEach(i -> relaxations.add(pull(order[i])));
+                }
+            }
+        }
+
+        // reachability is the same for both distances, so one finiteness check covers both
+        private int pull(int v) {
+            double bs = Double.POSITIVE_INFINITY, bl = Double.NEGATIVE_INFINITY;
+            int ps = -1, pl = -1, pulled = 0;
+            for (int e = rs.begin(v); e < rs.end(v); e++) {
+                int u = rs.target(e);
+                double du = sd[u];
+                if (du == Double.POSITIVE_INFINITY) continue;
+                pulled++;
+                double s = du + rs.weight(e);
+                if (s < bs || (s == bs && pos[u] < pos[ps])) {
+                    bs = s;
+                    ps = u;
+                }
+                double l = ld[u] + rl.weight(e);
+                if (l > bl || (l == bl && pos[u] < pos[pl])) {
+                    bl = l;
+                    pl = u;
+                }
+            }
+            sd[v] = bs;
+            sp[v] = ps;
+            ld[v] = bl;
+            lp[v] = pl;
+            return pulled;
+        }
+    }
+}
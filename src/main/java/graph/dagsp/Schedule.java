@@ -0,0 +1,60 @@
+package graph.dagsp;
+
+import graph.csr.IntGraph;
+
+/**
+ * Earliest and latest start of every vertex of a weighted DAG, where an edge
+ * {@code u -> v} of weight {@code w} means {@code v} may start {@code w} after
+ * {@code u}. A vertex or edge is critical when its slack is zero.
+ */
+public class Schedule {
+    static final double EPS = 1e-9;
+
+    private final IntGraph g;
+    private final double[] earliest;
+    private final double[] latest;
+    private final double length;
+
+    public Schedule(IntGraph g, double[] earliest, double[] latest, double length) {
+        this.g = g;
+        this.earliest = earliest;
+        this.latest = latest;
+        this.length = length;
+    }
+
+    public double getLength() { return length; }
+    public double[] getEarliest() { return earliest; }
+    public double[] getLatest() { return latest; }
+    public double earliest(int v) { return earliest[v]; }
+    public double latest(int v) { return latest[v]; }
+    public double slack(int v) { return latest[v] - earliest[v]; }
+    public boolean isCritical(int v) { return slack(v) <= EPS; }
+
+    public double edgeSlack(int u, int e) {
+        return latest[g.target(e)] - earliest[u] - g.weight(e);
+    }
+
+    public boolean isCriticalEdge(int u, int e) {
+        return edgeSlack(u, e) <= EPS;
+    }
+
+    public int[] criticalVertices() {
+        int count = 0;
+        for (int v = 0; v < earliest.length; v++) if (isCritical(v)) count++;
+        int[] out = new int[count];
+        for (int v = 0, k = 0; v < earliest.length; v++) if (isCritical(v)) out[k++] = v;
+        return out;
+    }
+
+    /** Ids of all zero-slack edges of the analysed graph, in source-vertex order. */
+    public int[] criticalEdges() {
+        int count = 0;
+        for (int u = 0; u < earliest.length; u++)
+            for (int e = g.begin(u); e < g.end(u); e++) if (isCriticalEdge(u, e)) count++;
+        int[] out = new int[count];
+        int k = 0;
+        for (int u = 0; u < earliest.length; u++)
+            for (int e = g.begin(u); e < g.end(u); e++) if (isCriticalEdge(u, e)) out[k++] = e;
+        return out;
+    }
+}
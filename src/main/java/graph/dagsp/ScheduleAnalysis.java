@@ -0,0 +1,58 @@
+package graph.dagsp;
+
+import graph.csr.IntGraph;
+import graph.topo.KahnTopo;
+import util.Metrics;
+import util.Phase;
+import util.PhaseTimer;
+
+import java.util.Arrays;
+
+/**
+ * Critical-path method over a weighted DAG: one forward sweep in topological
+ * order gives every earliest start, one backward sweep gives every latest
+ * start, so slack for all vertices and edges costs O(V + E) in total.
+ */
+public class ScheduleAnalysis {
+    private final Metrics metrics;
+
+    public ScheduleAnalysis(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public Schedule analyse(IntGraph dag) {
+        return analyse(dag, new KahnTopo(metrics).sort(dag));
+    }
+
+    public Schedule analyse(IntGraph dag, int[] topoOrder) {
+        PhaseTimer timer = metrics.start(Phase.SCHEDULE);
+        int n = dag.vertexCount();
+
+        double[] earliest = new double[n];
+        for (int u : topoOrder) {
+            for (int e = dag.begin(u); e < dag.end(u); e++) {
+                metrics.scheduleEdges++;
+                int v = dag.target(e);
+                double t = earliest[u] + dag.weight(e);
+                if (t > earliest[v]) earliest[v] = t;
+            }
+        }
+
+        double length = 0.0;
+        for (double t : earliest) length = Math.max(length, t);
+
+        double[] latest = new double[n];
+        Arrays.fill(latest, length);
+        for (int i = topoOrder.length - 1; i >= 0; i--) {
+            int u = topoOrder[i];
+            for (int e = dag.begin(u); e < dag.end(u); e++) {
+                metrics.scheduleEdges++;
+                double t = latest[dag.target(e)] - dag.weight(e);
+                if (t < latest[u]) latest[u] = t;
+            }
+        }
+
+        timer.stop();
+        return new Schedule(dag, earliest, latest, length);
+    }
+}
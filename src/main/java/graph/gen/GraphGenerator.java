@@ -0,0 +1,140 @@
+package graph.gen;
+
+import com.google.gson.stream.JsonWriter;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.SplittableRandom;
+
+/**
+ * Writes synthetic graphs in the dataset JSON schema
+ * ({@code directed, n, edges[u, v, w], source, weight_model}). Edges are
+ * drawn from a seeded generator and written as they are produced, so memory
+ * use does not depend on the edge count. Weights are integers in [1, 10].
+ */
+public class GraphGenerator {
+    public static final int PLANTED_SCC_SIZE = 16;
+    private static final int MAX_WEIGHT = 10;
+    private static final double POWER_LAW_EXPONENT = 2.5;
+
+    public enum Family {
+        /** m edges u -> v with u < v, so the graph is acyclic. */
+        DAG,
+        /**
+         * Rings of {@link #PLANTED_SCC_SIZE} vertices plus forward edges between rings; a
+         * trailing block of one vertex gets no ring edge. Needs m of at least one edge per
+         * ring vertex.
+         */
+        PLANTED,
+        /** Out-degrees follow a power law with mean about m / n; targets are uniform over the other vertices. */
+        POWER_LAW,
+        /** A path 0 -> 1 -> ... -> n-1 plus short forward skip edges up to m in total; m >= n - 1. */
+        CHAIN
+    }
+
+    private final Family family;
+    private final int n;
+    private final long m;
+    private final SplittableRandom rnd;
+
+    public GraphGenerator(Family family, int n, long m, long seed) {
+        if (n < 2) throw new IllegalArgumentException("n must be at least 2");
+        long backbone = backboneEdges(family, n);
+        if (m < backbone)
+            throw new IllegalArgumentException(family + " with n = " + n + " needs m >= " + backbone + ", got " + m);
+        this.family = family;
+        this.n = n;
+        this.m = m;
+        this.rnd = new SplittableRandom(seed);
+    }
+
+    // edges every graph of the family has regardless of m
+    private static long backboneEdges(Family family, int n) {
+        return switch (family) {
+            case PLANTED -> n % PLANTED_SCC_SIZE == 1 ? n - 1 : n;
+            case CHAIN -> n - 1;
+            default -> 0;
+        };
+    }
+
+    public void write(Path out) throws IOException {
+        try (Writer w = new BufferedWriter(new OutputStreamWriter(
+                Files.newOutputStream(out), StandardCharsets.UTF_8), 1 << 16)) {
+            write(w);
+        }
+    }
+
+    public long write(Writer writer) throws IOException {
+        JsonWriter json = new JsonWriter(writer);
+        json.beginObject();
+        json.name("directed").value(true);
+        json.name("n").value(n);
+        json.name("edges").beginArray();
+        long written = edges(json);
+        json.endArray();
+        json.name("source").value(0);
+        json.name("weight_model").value("edge");
+        json.endObject();
+        json.flush();
+        return written;
+    }
+
+    private long edges(JsonWriter json) throws IOException {
+        long k = 0;
+        switch (family) {
+            case DAG:
+                for (; k < m; k++) {
+                    int u = rnd.nextInt(n - 1);
+                    edge(json, u, u + 1 + rnd.nextInt(n - 1 - u));
+                }
+                return k;
+            case PLANTED:
+                for (int u = 0; u < n; u++) {
+                    int start = u - u % PLANTED_SCC_SIZE;
+                    int end = Math.min(n, start + PLANTED_SCC_SIZE);
+                    if (end - start == 1) continue;
+                    edge(json, u, u + 1 < end ? u + 1 : start);
+                    k++;
+                }
+                int lastBlockStart = (n - 1) / PLANTED_SCC_SIZE * PLANTED_SCC_SIZE;
+                while (k < m && lastBlockStart > 0) {
+                    int u = rnd.nextInt(lastBlockStart);
+                    int firstLater = (u / PLANTED_SCC_SIZE + 1) * PLANTED_SCC_SIZE;
+                    edge(json, u, firstLater + rnd.nextInt(n - firstLater));
+                    k++;
+                }
+                return k;
+            case POWER_LAW:
+                double mean = (double) m / n;
+                double xmin = mean * (POWER_LAW_EXPONENT - 2) / (POWER_LAW_EXPONENT - 1);
+                for (int u = 0; u < n; u++) {
+                    double pareto = xmin * Math.pow(1 - rnd.nextDouble(), -1 / (POWER_LAW_EXPONENT - 1));
+                    long degree = Math.min(n - 1, (long) pareto);
+                    for (long d = 0; d < degree; d++, k++) {
+                        // one draw from the n - 1 vertices other than u, so there are no self-loops
+                        int v = rnd.nextInt(n - 1);
+                        edge(json, u, v < u ? v : v + 1);
+                    }
+                }
+                return k;
+            case CHAIN:
+                for (int u = 0; u + 1 < n; u++, k++) edge(json, u, u + 1);
+                for (; k < m && n > 2; k++) {
+                    int u = rnd.nextInt(n - 2);
+                    edge(json, u, Math.min(n - 1, u + 2 + rnd.nextInt(7)));
+                }
+                return k;
+            default:
+                throw new IllegalStateException("Unknown family " + family);
+        }
+    }
+
+    private void edge(JsonWriter json, int u, int v) throws IOException {
+        json.beginObject();
+        json.name("u").value(u);
+        json.name("v").value(v);
+        json.name("w").value(1 + rnd.nextInt(MAX_WEIGHT));
+        json.endObject();
+    }
+}
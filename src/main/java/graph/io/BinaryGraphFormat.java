@@ -0,0 +1,134 @@
+package graph.io;
+
+import graph.csr.IntGraph;
+import graph.csr.MappedCsrGraph;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/**
+ * Little-endian on-disk CSR layout:
+ * <pre>
+ *   int magic, int version, int flags, int source, int n, int m
+ *   int[n + 1] offsets
+ *   int[m]     targets
+ *   (zero padding to an 8-byte boundary)
+ *   double[m]  weights
+ * </pre>
+ * Flag bit 0 marks a directed graph, bit 1 the node weight model. A source
+ * of -1 means the file had none. Opening checks that the file size matches
+ * {@code n} and {@code m} and that the offsets rise from 0 to {@code m}.
+ */
+public final class BinaryGraphFormat {
+    public static final String EXTENSION = ".csrg";
+    static final int MAGIC = 0x43535247;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+    private static final int FLAG_DIRECTED = 1;
+    private static final int FLAG_NODE_WEIGHTS = 2;
+    private static final int CHUNK = 1 << 16;
+
+    private BinaryGraphFormat() { }
+
+    public static void convert(Path json, Path out) throws IOException {
+        write(JsonGraphLoader.load(json), out);
+    }
+
+    public static void write(LoadedGraph lg, Path out) throws IOException {
+        IntGraph g = lg.getGraph();
+        int n = g.vertexCount(), m = g.edgeCount();
+        int flags = (lg.isDirected() ? FLAG_DIRECTED : 0)
+                | ("node".equals(lg.getWeightModel()) ? FLAG_NODE_WEIGHTS : 0);
+
+        try (FileChannel ch = FileChannel.open(out, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buf = ByteBuffer.allocateDirect(CHUNK).order(ByteOrder.LITTLE_ENDIAN);
+            buf.putInt(MAGIC).putInt(VERSION).putInt(flags).putInt(lg.getSource()).putInt(n).putInt(m);
+
+            for (int u = 0; u <= n; u++) {
+                buf = ensure(ch, buf, Integer.BYTES);
+                buf.putInt(u == n ? m : g.begin(u));
+            }
+            for (int e = 0; e < m; e++) {
+                buf = ensure(ch, buf, Integer.BYTES);
+                buf.putInt(g.target(e));
+            }
+            if (weightsOffset(n, m) > targetsOffset(n) + 4L * m) {
+                buf = ensure(ch, buf, Integer.BYTES);
+                buf.putInt(0);
+            }
+            for (int e = 0; e < m; e++) {
+                buf = ensure(ch, buf, Double.BYTES);
+                buf.putDouble(g.weight(e));
+            }
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf);
+        }
+    }
+
+    private static ByteBuffer ensure(FileChannel ch, ByteBuffer buf, int bytes) throws IOException {
+        if (buf.remaining() >= bytes) return buf;
+        buf.flip();
+        while (buf.hasRemaining()) ch.write(buf);
+        buf.clear();
+        return buf;
+    }
+
+    public static LoadedGraph open(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            while (header.hasRemaining() && ch.read(header) >= 0) { }
+            if (header.hasRemaining()) throw new IOException("Truncated header in " + path);
+            header.flip();
+
+            if (header.getInt() != MAGIC) throw new IOException("Not a binary graph file: " + path);
+            int version = header.getInt();
+            if (version != VERSION) throw new IOException("Unsupported binary graph version " + version);
+            int flags = header.getInt();
+            int source = header.getInt();
+            int n = header.getInt();
+            int m = header.getInt();
+
+            if (n < 0 || m < 0) throw new IOException("Negative size in " + path + ": n = " + n + ", m = " + m);
+            long expected = weightsOffset(n, m) + 8L * m;
+            if (ch.size() != expected)
+                throw new IOException("Binary graph file " + path + " has " + ch.size() + " bytes, expected "
+                        + expected + " for n = " + n + ", m = " + m);
+
+            // the mappings stay valid after the channel is closed
+            IntBuffer offsets = map(ch, HEADER_BYTES, 4L * (n + 1)).asIntBuffer();
+            int prev = 0;
+            for (int u = 0; u <= n; u++) {
+                int off = offsets.get(u);
+                if (off < prev || (u == 0 && off != 0))
+                    throw new IOException("Offsets in " + path + " are not monotonic from 0 at vertex " + u);
+                prev = off;
+            }
+            if (prev != m) throw new IOException("Offsets in " + path + " end at " + prev + ", expected " + m);
+            MappedCsrGraph g = new MappedCsrGraph(n, m, offsets,
+                    map(ch, targetsOffset(n), 4L * m).asIntBuffer(),
+                    map(ch, weightsOffset(n, m), 8L * m).asDoubleBuffer());
+            return new LoadedGraph(g, (flags & FLAG_DIRECTED) != 0, source,
+                    (flags & FLAG_NODE_WEIGHTS) != 0 ? "node" : "edge");
+        }
+    }
+
+    private static ByteBuffer map(FileChannel ch, long position, long size) throws IOException {
+        MappedByteBuffer buf = ch.map(FileChannel.MapMode.READ_ONLY, position, size);
+        return buf.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    static long targetsOffset(int n) {
+        return HEADER_BYTES + 4L * (n + 1);
+    }
+
+    static long weightsOffset(int n, int m) {
+        long end = targetsOffset(n) + 4L * m;
+        return (end + 7) & ~7L;
+    }
+}
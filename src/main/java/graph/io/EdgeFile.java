@@ -0,0 +1,146 @@
+package graph.io;
+
+import graph.csr.IntGraph;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+
+/**
+ * Little-endian flat edge list for graphs that are streamed rather than
+ * loaded:
+ * <pre>
+ *   int magic, int version, int n, int reserved, long m
+ *   m records of (int u, int v, double w)
+ * </pre>
+ * Records are read and written sequentially through a fixed buffer, so
+ * neither side holds more than O(1) edges in memory.
+ */
+public final class EdgeFile {
+    public static final String EXTENSION = ".edges";
+    static final int MAGIC = 0x45444745;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 24;
+    static final int RECORD_BYTES = 16;
+    private static final int BUFFER_BYTES = RECORD_BYTES << 12;
+
+    private EdgeFile() { }
+
+    public static void write(IntGraph g, Path out) throws IOException {
+        try (Writer w = new Writer(out, g.vertexCount())) {
+            for (int u = 0; u < g.vertexCount(); u++)
+                for (int e = g.begin(u); e < g.end(u); e++) w.append(u, g.target(e), g.weight(e));
+        }
+    }
+
+    public static final class Writer implements Closeable {
+        private final FileChannel ch;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private final int n;
+        private long m;
+
+        public Writer(Path out, int n) throws IOException {
+            this.n = n;
+            this.ch = FileChannel.open(out, StandardOpenOption.CREATE,
+                    StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            ch.position(HEADER_BYTES);
+        }
+
+        public void append(int u, int v, double w) throws IOException {
+            if (!buf.hasRemaining()) drain();
+            buf.putInt(u).putInt(v).putDouble(w);
+            m++;
+        }
+
+        public long count() { return m; }
+
+        private void drain() throws IOException {
+            buf.flip();
+            while (buf.hasRemaining()) ch.write(buf);
+            buf.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try (ch) {
+                drain();
+                buf.putInt(MAGIC).putInt(VERSION).putInt(n).putInt(0).putLong(m).flip();
+                ch.position(0);
+                while (buf.hasRemaining()) ch.write(buf);
+            }
+        }
+    }
+
+    public static final class Reader implements Closeable {
+        private final Path path;
+        private final FileChannel ch;
+        private final ByteBuffer buf = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        private final int n;
+        private final long m;
+        private long read;
+        private int u, v;
+        private double w;
+
+        public Reader(Path path) throws IOException {
+            this.path = path;
+            this.ch = FileChannel.open(path, StandardOpenOption.READ);
+            try {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                while (header.hasRemaining() && ch.read(header) >= 0) { }
+                if (header.hasRemaining()) throw new IOException("Truncated header in " + path);
+                header.flip();
+                if (header.getInt() != MAGIC) throw new IOException("Not an edge file: " + path);
+                int version = header.getInt();
+                if (version != VERSION) throw new IOException("Unsupported edge file version " + version);
+                this.n = header.getInt();
+                header.getInt();
+                this.m = header.getLong();
+                if (ch.size() < HEADER_BYTES + m * RECORD_BYTES)
+                    throw new IOException("Edge file " + path + " is truncated");
+            } catch (IOException e) {
+                ch.close();
+                throw e;
+            }
+            rewind();
+        }
+
+        public int vertexCount() { return n; }
+        public long edgeCount() { return m; }
+
+        /** Restarts the sequential scan at the first record. */
+        public void rewind() throws IOException {
+            ch.position(HEADER_BYTES);
+            buf.clear().limit(0);
+            read = 0;
+        }
+
+        public boolean next() throws IOException {
+            if (read == m) return false;
+            if (buf.remaining() < RECORD_BYTES) {
+                buf.compact();
+                while (buf.position() < RECORD_BYTES && ch.read(buf) >= 0) { }
+                buf.flip();
+                if (buf.remaining() < RECORD_BYTES) throw new IOException("Edge file " + path + " is truncated");
+            }
+            u = buf.getInt();
+            v = buf.getInt();
+            w = buf.getDouble();
+            if (u < 0 || u >= n || v < 0 || v >= n)
+                throw new IOException("Edge " + u + " -> " + v + " out of range in " + path);
+            read++;
+            return true;
+        }
+
+        public int u() { return u; }
+        public int v() { return v; }
+        public double w() { return w; }
+
+        @Override
+        public void close() throws IOException {
+            ch.close();
+        }
+    }
+}
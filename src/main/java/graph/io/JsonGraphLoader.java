@@ -0,0 +1,149 @@
+package graph.io;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import graph.csr.CsrGraph;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Arrays;
+
+/**
+ * Streams a graph file of the form
+ * {@code {"directed", "n", "edges": [{"u","v","w"}...], "source", "weight_model"}}
+ * straight into primitive edge arrays and then into a {@link CsrGraph}, without
+ * building a JSON tree or per-edge objects. Fields may appear in any order;
+ * unknown fields are skipped. Undirected graphs get both edge directions.
+ * <p>
+ * Under {@code "weight_model": "node"} the per-vertex {@code "node_weights"}
+ * array replaces edge weights: every edge out of {@code u} costs
+ * {@code node_weights[u]}, so path distances are start times. A virtual finish
+ * vertex {@code n} is appended with an edge from every task costing its
+ * duration, so the distance to it, the critical length and the project length
+ * include the last task. When all weights are whole numbers the graph stores
+ * them as {@code int}s.
+ */
+public class JsonGraphLoader {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private int m;
+    private int[] from = new int[1024];
+    private int[] to = new int[1024];
+    private double[] w = new double[1024];
+    private double[] nodeWeights;
+
+    public static LoadedGraph load(Path path) throws IOException {
+        try (Reader r = new BufferedReader(
+                new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            return new JsonGraphLoader().read(r);
+        }
+    }
+
+    public LoadedGraph read(Reader reader) throws IOException {
+        int n = -1, source = -1;
+        boolean directed = true;
+        String weightModel = "edge";
+
+        JsonReader in = new JsonReader(reader);
+        in.beginObject();
+        while (in.hasNext()) {
+            switch (in.nextName()) {
+                case "directed": directed = in.nextBoolean(); break;
+                case "n": n = in.nextInt(); break;
+                case "edges": readEdges(in); break;
+                case "source":
+                    if (in.peek() == JsonToken.NULL) in.nextNull();
+                    else source = in.nextInt();
+                    break;
+                case "weight_model": weightModel = in.nextString(); break;
+                case "node_weights": readNodeWeights(in); break;
+                default: in.skipValue();
+            }
+        }
+        in.endObject();
+
+        if (n < 0) throw new IOException("Missing vertex count \"n\"");
+        for (int i = 0; i < m; i++) {
+            if (from[i] < 0 || from[i] >= n || to[i] < 0 || to[i] >= n)
+                throw new IOException("Edge " + i + " references a vertex outside [0, " + n + ")");
+        }
+        if (source >= n) throw new IOException("Source " + source + " outside [0, " + n + ")");
+        switch (weightModel) {
+            case "edge": break;
+            case "node":
+                if (nodeWeights == null) throw new IOException("Weight model \"node\" needs \"node_weights\"");
+                if (nodeWeights.length != n)
+                    throw new IOException("\"node_weights\" has " + nodeWeights.length + " entries, expected " + n);
+                break;
+            default: throw new IOException("Unknown weight model \"" + weightModel + "\"");
+        }
+
+        if (!directed) {
+            ensureCapacity(2 * m);
+            System.arraycopy(from, 0, to, m, m);
+            System.arraycopy(to, 0, from, m, m);
+            System.arraycopy(w, 0, w, m, m);
+            m *= 2;
+        }
+        if (weightModel.equals("node")) {
+            for (int i = 0; i < m; i++) w[i] = nodeWeights[from[i]];
+            ensureCapacity(m + n);
+            for (int u = 0; u < n; u++) {
+                from[m] = u;
+                to[m] = n;
+                w[m++] = nodeWeights[u];
+            }
+            n++;
+        }
+        int[] iw = CsrGraph.narrow(w, m);
+        CsrGraph g = iw != null ? CsrGraph.fromIntEdges(n, m, from, to, iw, null)
+                : CsrGraph.fromEdges(n, m, from, to, w, null);
+        return new LoadedGraph(g, directed, source, weightModel);
+    }
+
+    private void readEdges(JsonReader in) throws IOException {
+        in.beginArray();
+        while (in.hasNext()) {
+            int u = -1, v = -1;
+            double weight = 1.0;
+            in.beginObject();
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "u": u = in.nextInt(); break;
+                    case "v": v = in.nextInt(); break;
+                    case "w": weight = in.nextDouble(); break;
+                    default: in.skipValue();
+                }
+            }
+            in.endObject();
+            if (u < 0 || v < 0) throw new IOException("Edge " + m + " is missing \"u\" or \"v\"");
+
+            ensureCapacity(m + 1);
+            from[m] = u;
+            to[m] = v;
+            w[m++] = weight;
+        }
+        in.endArray();
+    }
+
+    private void readNodeWeights(JsonReader in) throws IOException {
+        double[] nw = new double[16];
+        int k = 0;
+        in.beginArray();
+        while (in.hasNext()) {
+            if (k == nw.length) nw = Arrays.copyOf(nw, 2 * k);
+            nw[k++] = in.nextDouble();
+        }
+        in.endArray();
+        nodeWeights = Arrays.copyOf(nw, k);
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= from.length) return;
+        int cap = Math.max(needed, from.length + (from.length >> 1));
+        from = Arrays.copyOf(from, cap);
+        to = Arrays.copyOf(to, cap);
+        w = Arrays.copyOf(w, cap);
+    }
+}
@@ -0,0 +1,23 @@
+package graph.io;
+
+import graph.csr.IntGraph;
+
+public class LoadedGraph {
+    private final IntGraph graph;
+    private final boolean directed;
+    private final int source;
+    private final String weightModel;
+
+    public LoadedGraph(IntGraph graph, boolean directed, int source, String weightModel) {
+        this.graph = graph;
+        this.directed = directed;
+        this.source = source;
+        this.weightModel = weightModel;
+    }
+
+    public IntGraph getGraph() { return graph; }
+    public boolean isDirected() { return directed; }
+    public int getSource() { return source; }
+    public String getWeightModel() { return weightModel; }
+    public boolean hasSource() { return source >= 0; }
+}
@@ -0,0 +1,122 @@
+package graph.reach;
+
+import graph.csr.CsrGraph;
+import graph.csr.IntGraph;
+import graph.scc.CollapsePolicy;
+import graph.scc.Components;
+import graph.scc.CondensationBuilder;
+import graph.scc.TarjanSCC;
+import util.Metrics;
+
+import java.util.*;
+
+/**
+ * Transitive closure of a condensation DAG stored as one bitset row per
+ * component. Rows are filled in reverse topological order, each the union of
+ * its successors' rows. With components ranked sinks-first a component can
+ * only reach lower ranks, so row {@code c} is stored as the word range from
+ * its lowest reachable rank up to {@code c} alone rather than all {@code C}
+ * bits. {@link #reachable} is two array lookups and a bit test.
+ * <p>
+ * All rows share one {@code long[]} of at most {@link #MAX_WORDS} words. A
+ * fully reachable chain needs about {@code C * C / 128} words, so dense
+ * closures are limited to roughly 520,000 components; sparser ones go further.
+ */
+public class ReachabilityIndex {
+    /** Largest bitset the index will allocate, just under the JVM array limit. */
+    public static final int MAX_WORDS = Integer.MAX_VALUE - 8;
+
+    private final int[] compOf;
+    private final int[] rank;
+    private final int[] lo;
+    private final int[] rowStart;
+    private final long[] bits;
+    private final long buildNs;
+
+    public static ReachabilityIndex build(IntGraph g, Metrics metrics) {
+        Components comps = new TarjanSCC(metrics).compute(g);
+        return new ReachabilityIndex(comps, new CondensationBuilder().build(g, comps, CollapsePolicy.MIN));
+    }
+
+    public static ReachabilityIndex build(Map<String, List<String>> adj, Metrics metrics) {
+        return build(CsrGraph.fromAdjacency(adj), metrics);
+    }
+
+    /**
+     * @param dag condensation of {@code comps}; component ids must be a
+     *            topological order or its reverse
+     */
+    public ReachabilityIndex(Components comps, IntGraph dag) {
+        long t0 = System.nanoTime();
+        int c = comps.getCount();
+        this.compOf = comps.getCompOf();
+        this.rank = ranks(dag, c);
+
+        int[] byRank = new int[c];
+        for (int x = 0; x < c; x++) byRank[rank[x]] = x;
+
+        // lowest reachable word per row sizes each row before any bits are set
+        this.lo = new int[c];
+        this.rowStart = new int[c + 1];
+        long words = 0;
+        for (int r = 0; r < c; r++) {
+            int x = byRank[r], low = r >>> 6;
+            for (int e = dag.begin(x); e < dag.end(x); e++) low = Math.min(low, lo[rank[dag.target(e)]]);
+            lo[r] = low;
+            words += (r >>> 6) - low + 1;
+            if (words > MAX_WORDS)
+                throw new IllegalArgumentException("Closure of " + c + " components needs more than "
+                        + MAX_WORDS + " bitset words");
+            rowStart[r + 1] = (int) words;
+        }
+
+        this.bits = new long[rowStart[c]];
+        for (int r = 0; r < c; r++) {
+            int x = byRank[r], base = rowStart[r] - lo[r];
+            bits[base + (r >>> 6)] |= 1L << r;
+            for (int e = dag.begin(x); e < dag.end(x); e++) {
+                int s = rank[dag.target(e)];
+                int sBase = rowStart[s] - lo[s];
+                for (int w = lo[s]; w <= s >>> 6; w++) bits[base + w] |= bits[sBase + w];
+            }
+        }
+        this.buildNs = System.nanoTime() - t0;
+    }
+
+    private static int[] ranks(IntGraph dag, int c) {
+        boolean up = false, down = false;
+        for (int x = 0; x < c; x++) {
+            for (int e = dag.begin(x); e < dag.end(x); e++) {
+                if (dag.target(e) > x) up = true;
+                else down = true;
+            }
+        }
+        if (up && down)
+            throw new IllegalArgumentException("Component ids must follow a topological order or its reverse");
+        int[] rank = new int[c];
+        for (int x = 0; x < c; x++) rank[x] = up ? c - 1 - x : x;
+        return rank;
+    }
+
+    public boolean reachable(int u, int v) {
+        int ru = rank[compOf[u]], rv = rank[compOf[v]];
+        if (rv > ru) return false;
+        int w = rv >>> 6;
+        if (w < lo[ru]) return false;
+        return (bits[rowStart[ru] - lo[ru] + w] & (1L << rv)) != 0;
+    }
+
+    public int componentCount() { return rank.length; }
+    public long buildNs() { return buildNs; }
+
+    /** Heap bytes held by the index arrays, excluding object headers. */
+    public long memoryBytes() {
+        return 8L * bits.length + 4L * (compOf.length + rank.length + lo.length + rowStart.length);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.US, "ReachabilityIndex[components=%d, build=%.3fms, memory=%d bytes]",
+                componentCount(), buildNs / 1e6, memoryBytes());
+    }
+}
@@ -0,0 +1,92 @@
+package graph.report;
+
+import graph.analysis.AnalysisCodec;
+import graph.analysis.AnalysisResult;
+import util.LatencyRecorder;
+import util.Metrics;
+import util.Phase;
+
+import java.io.*;
+
+/**
+ * Compact big-endian record stream. After a magic/version header each
+ * record is a tag byte and the dataset name, followed by the total time,
+ * per-phase nanoseconds and an {@link AnalysisCodec} body ({@link #RESULT}),
+ * per-phase run counts and percentiles ({@link #LATENCY}), or a message
+ * ({@link #FAILURE}). A single {@link #END} tag closes the stream.
+ * Each record is rendered into a scratch buffer and copied out only once
+ * complete, so a record that fails halfway leaves the stream intact.
+ */
+public class BinaryReport implements ReportWriter {
+    public static final int MAGIC = 0x47525054;
+    public static final int VERSION = 2;
+    public static final byte END = 0;
+    public static final byte RESULT = 1;
+    public static final byte LATENCY = 2;
+    public static final byte FAILURE = 3;
+
+    private final DataOutputStream out;
+    private final ByteArrayOutputStream scratch = new ByteArrayOutputStream();
+    private final DataOutputStream record = new DataOutputStream(scratch);
+
+    public BinaryReport(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        this.out.writeInt(MAGIC);
+        this.out.writeInt(VERSION);
+    }
+
+    @Override
+    public void dataset(String dataset, AnalysisResult result, Metrics metrics, double totalMs) throws IOException {
+        DataOutputStream rec = record(RESULT, dataset);
+        rec.writeDouble(totalMs);
+        for (Phase p : Phase.values()) rec.writeLong(metrics.phaseNs(p));
+        AnalysisCodec.write(rec, result);
+        commit();
+    }
+
+    @Override
+    public void latency(String dataset, LatencyRecorder latency) throws IOException {
+        DataOutputStream rec = record(LATENCY, dataset);
+        for (Phase p : Phase.values()) {
+            int runs = latency.count(p);
+            rec.writeInt(runs);
+            if (runs == 0) continue;
+            rec.writeLong(latency.p50Ns(p));
+            rec.writeLong(latency.p99Ns(p));
+            rec.writeLong(latency.maxNs(p));
+        }
+        commit();
+    }
+
+    @Override
+    public void failure(String dataset, Throwable e) throws IOException {
+        DataOutputStream rec = record(FAILURE, dataset);
+        rec.writeUTF(String.valueOf(e.getMessage()));
+        commit();
+    }
+
+    // drops whatever an earlier, failed record left in the scratch buffer
+    private DataOutputStream record(byte tag, String dataset) throws IOException {
+        scratch.reset();
+        record.writeByte(tag);
+        record.writeUTF(dataset);
+        return record;
+    }
+
+    private void commit() throws IOException {
+        scratch.writeTo(out);
+        scratch.reset();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (out) {
+            out.writeByte(END);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package graph.report;
+
+import graph.analysis.AnalysisResult;
+import graph.csr.CsrGraph;
+import graph.csr.IntGraph;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.DagPaths;
+import graph.dagsp.Schedule;
+import util.LatencyRecorder;
+import util.Metrics;
+import util.Phase;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Formatter;
+import java.util.Locale;
+
+/**
+ * The human-readable report: condensation, topological order, critical
+ * path, schedule and shortest distances per dataset. Failures go to a
+ * separate error stream after the report so far has been flushed.
+ */
+public class ConsoleReport implements ReportWriter {
+    private static final String NL = System.lineSeparator();
+
+    private final Writer out;
+    private final Formatter fmt;
+    private final PrintStream err;
+
+    public ConsoleReport(OutputStream out, PrintStream err) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.fmt = new Formatter(this.out);
+        this.err = err;
+    }
+
+    @Override
+    public void begin() throws IOException {
+        out.write("=== DAG & SCC Analysis ===" + NL);
+    }
+
+    private void header(String dataset) throws IOException {
+        out.write(NL + "--- Processing " + dataset + " ---" + NL);
+    }
+
+    @Override
+    public void dataset(String dataset, AnalysisResult r, Metrics metrics, double totalMs) throws IOException {
+        header(dataset);
+        CsrGraph shortestDag = r.getShortestDag(), longestDag = r.getLongestDag();
+        int[] order = r.getOrder();
+        out.write("Condensation DAG: ");
+        writeAdjacency(shortestDag);
+        out.write(NL + "Topological Order: ");
+        writeLabels(shortestDag, order, ", ", "[", "]");
+
+        DagPaths paths = r.getPaths();
+        double[] shortest = paths.getShortest();
+        double[] longest = paths.getLongest();
+        int source = r.getSource();
+        int[] criticalPath = r.getCriticalPath();
+
+        out.write(NL + NL + "=== Output ===" + NL + "Critical path: ");
+        writeLabels(longestDag, criticalPath, " -> ", "", "");
+        fmt.format("%nLength: %.2f%n", longest[criticalPath[criticalPath.length - 1]]);
+
+        Schedule schedule = r.getSchedule();
+        fmt.format("%nSchedule (project length %.2f):%n", schedule.getLength());
+        for (int c = 0; c < order.length; c++)
+            fmt.format("  %-5s : start %.2f..%.2f, slack %.2f%s%n", longestDag.label(c),
+                    schedule.earliest(c), schedule.latest(c), schedule.slack(c), schedule.isCritical(c) ? " *" : "");
+
+        out.write(NL + "Shortest distances from " + shortestDag.label(source) + ":" + NL);
+        for (int c = 0; c < shortest.length; c++)
+            fmt.format("  %-5s : %.2f%n", shortestDag.label(c), shortest[c]);
+
+        int target = -1;
+        for (int c = 0; c < shortest.length; c++)
+            if (c != source && (target == -1 || shortest[c] < shortest[target])) target = c;
+
+        if (target != -1) {
+            int[] sp = new DAGShortestPath(new Metrics()).reconstructPath(paths.getShortestParent(), target);
+            out.write(NL + "One optimal shortest path: ");
+            writeLabels(shortestDag, sp, " -> ", "", "");
+            fmt.format("%nTotal length: %.2f%n", shortest[target]);
+        }
+        checkFormatter();
+    }
+
+    @Override
+    public void latency(String dataset, LatencyRecorder latency) throws IOException {
+        out.write(NL + "Latency over " + latency.count(Phase.LOAD) + " runs (p50 / p99 / max, ms):" + NL);
+        for (Phase p : Phase.values()) {
+            if (latency.count(p) == 0) continue;
+            fmt.format(Locale.US, "  %-13s : %.3f / %.3f / %.3f%n", p,
+                    latency.p50Ns(p) / 1e6, latency.p99Ns(p) / 1e6, latency.maxNs(p) / 1e6);
+        }
+        checkFormatter();
+    }
+
+    @Override
+    public void failure(String dataset, Throwable e) throws IOException {
+        header(dataset);
+        out.flush();
+        err.println("Failed: " + e.getMessage());
+    }
+
+    private void writeAdjacency(IntGraph dag) throws IOException {
+        out.write('{');
+        for (int u = 0; u < dag.vertexCount(); u++) {
+            if (u > 0) out.write(", ");
+            out.write(dag.label(u));
+            out.write("=[");
+            for (int e = dag.begin(u); e < dag.end(u); e++) {
+                if (e > dag.begin(u)) out.write(", ");
+                out.write(dag.label(dag.target(e)));
+            }
+            out.write(']');
+        }
+        out.write('}');
+    }
+
+    private void writeLabels(IntGraph g, int[] vertices, String sep, String open, String close) throws IOException {
+        out.write(open);
+        for (int i = 0; i < vertices.length; i++) {
+            if (i > 0) out.write(sep);
+            out.write(g.label(vertices[i]));
+        }
+        out.write(close);
+    }
+
+    private void checkFormatter() throws IOException {
+        IOException e = fmt.ioException();
+        if (e != null) throw e;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
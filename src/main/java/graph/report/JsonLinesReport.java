@@ -0,0 +1,142 @@
+package graph.report;
+
+import com.google.gson.stream.JsonWriter;
+import graph.analysis.AnalysisResult;
+import graph.csr.CsrGraph;
+import graph.dagsp.DagPaths;
+import graph.dagsp.Schedule;
+import util.LatencyRecorder;
+import util.Metrics;
+import util.Phase;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * One JSON object per line: a {@code "result"} record per dataset, an
+ * optional {@code "latency"} record after it, or an {@code "error"} record.
+ * Non-finite numbers, such as unreachable distances, are written as {@code null}.
+ */
+public class JsonLinesReport implements ReportWriter {
+    private final Writer out;
+    private boolean inRecord;
+
+    public JsonLinesReport(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    @Override
+    public void dataset(String dataset, AnalysisResult r, Metrics metrics, double totalMs) throws IOException {
+        CsrGraph dag = r.getLongestDag();
+        DagPaths paths = r.getPaths();
+        Schedule schedule = r.getSchedule();
+        int[] critical = r.getCriticalPath();
+
+        JsonWriter json = record("result", dataset);
+        json.name("totalMs");
+        number(json, totalMs);
+        json.name("vertices").value(r.getComponents().getCompOf().length);
+        json.name("components").value(dag.vertexCount());
+        json.name("dagEdges").value(dag.edgeCount());
+        json.name("order");
+        labels(json, dag, r.getOrder());
+        json.name("criticalPath");
+        labels(json, dag, critical);
+        json.name("criticalLength");
+        number(json, paths.getLongest()[critical[critical.length - 1]]);
+        json.name("projectLength");
+        number(json, schedule.getLength());
+
+        json.name("source").value(dag.label(r.getSource()));
+        json.name("shortest").beginObject();
+        double[] shortest = paths.getShortest();
+        for (int c = 0; c < shortest.length; c++) {
+            json.name(dag.label(c));
+            number(json, shortest[c]);
+        }
+        json.endObject();
+
+        json.name("schedule").beginArray();
+        for (int c = 0; c < dag.vertexCount(); c++) {
+            json.beginObject();
+            json.name("component").value(dag.label(c));
+            json.name("earliest");
+            number(json, schedule.earliest(c));
+            json.name("latest");
+            number(json, schedule.latest(c));
+            json.name("slack");
+            number(json, schedule.slack(c));
+            json.name("critical").value(schedule.isCritical(c));
+            json.endObject();
+        }
+        json.endArray();
+
+        json.name("phasesNs").beginObject();
+        for (Phase p : Phase.values())
+            if (metrics.phaseCount(p) > 0) json.name(p.name()).value(metrics.phaseNs(p));
+        json.endObject();
+        end(json);
+    }
+
+    @Override
+    public void latency(String dataset, LatencyRecorder latency) throws IOException {
+        JsonWriter json = record("latency", dataset);
+        json.name("runs").value(latency.count(Phase.LOAD));
+        json.name("phases").beginObject();
+        for (Phase p : Phase.values()) {
+            if (latency.count(p) == 0) continue;
+            json.name(p.name()).beginObject();
+            json.name("p50Ns").value(latency.p50Ns(p));
+            json.name("p99Ns").value(latency.p99Ns(p));
+            json.name("maxNs").value(latency.maxNs(p));
+            json.endObject();
+        }
+        json.endObject();
+        end(json);
+    }
+
+    @Override
+    public void failure(String dataset, Throwable e) throws IOException {
+        // a record that failed halfway through rendering is cut off on its own line
+        if (inRecord) out.write('\n');
+        JsonWriter json = record("error", dataset);
+        json.name("message").value(e.getMessage());
+        end(json);
+    }
+
+    private JsonWriter record(String type, String dataset) throws IOException {
+        JsonWriter json = new JsonWriter(out);
+        inRecord = true;
+        json.beginObject();
+        json.name("type").value(type);
+        json.name("dataset").value(dataset);
+        return json;
+    }
+
+    private void end(JsonWriter json) throws IOException {
+        json.endObject();
+        out.write('\n');
+        inRecord = false;
+    }
+
+    private static void labels(JsonWriter json, CsrGraph g, int[] vertices) throws IOException {
+        json.beginArray();
+        for (int v : vertices) json.value(g.label(v));
+        json.endArray();
+    }
+
+    private static void number(JsonWriter json, double d) throws IOException {
+        if (Double.isFinite(d)) json.value(d);
+        else json.nullValue();
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,52 @@
+package graph.report;
+
+import graph.analysis.AnalysisResult;
+import util.LatencyRecorder;
+import util.Metrics;
+import util.Phase;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * One summary line per dataset: component count, critical path length and
+ * analysis time, plus the summed per-phase p99 when runs are repeated.
+ */
+public class QuietReport implements ReportWriter {
+    private final Writer out;
+
+    public QuietReport(OutputStream out) {
+        this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    @Override
+    public void dataset(String dataset, AnalysisResult r, Metrics metrics, double totalMs) throws IOException {
+        out.write(String.format(Locale.US, "%s: %d components, critical %.2f, %.3f ms%n",
+                dataset, r.getShortestDag().vertexCount(), r.getSchedule().getLength(), totalMs));
+    }
+
+    @Override
+    public void latency(String dataset, LatencyRecorder latency) throws IOException {
+        long p99 = 0;
+        for (Phase p : Phase.values())
+            if (latency.count(p) > 0) p99 += latency.p99Ns(p);
+        out.write(String.format(Locale.US, "%s: %d runs, p99 sum %.3f ms%n",
+                dataset, latency.count(Phase.LOAD), p99 / 1e6));
+    }
+
+    @Override
+    public void failure(String dataset, Throwable e) throws IOException {
+        out.write(dataset + ": failed: " + e.getMessage() + System.lineSeparator());
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
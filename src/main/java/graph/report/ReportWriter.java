@@ -0,0 +1,42 @@
+package graph.report;
+
+import graph.analysis.AnalysisResult;
+import util.LatencyRecorder;
+import util.Metrics;
+
+import java.io.*;
+import java.util.Locale;
+
+/**
+ * Output stage for batch analysis. Datasets are handed over one at a time,
+ * in report order, and rendered straight into a single buffered stream; no
+ * implementation accumulates more than one record in memory.
+ */
+public interface ReportWriter extends Closeable, Flushable {
+    int BUFFER_SIZE = 1 << 16;
+
+    enum Format {
+        CONSOLE, JSONL, BINARY, QUIET;
+
+        public static Format parse(String name) {
+            return valueOf(name.toUpperCase(Locale.ROOT));
+        }
+
+        public ReportWriter open(OutputStream out) throws IOException {
+            return switch (this) {
+                case CONSOLE -> new ConsoleReport(out, System.err);
+                case JSONL -> new JsonLinesReport(out);
+                case BINARY -> new BinaryReport(out);
+                case QUIET -> new QuietReport(out);
+            };
+        }
+    }
+
+    default void begin() throws IOException { }
+
+    void dataset(String dataset, AnalysisResult result, Metrics metrics, double totalMs) throws IOException;
+
+    default void latency(String dataset, LatencyRecorder latency) throws IOException { }
+
+    void failure(String dataset, Throwable e) throws IOException;
+}
@@ -0,0 +1,13 @@
+package graph.scc;
+
+public enum CollapsePolicy {
+    MIN, MAX, SUM;
+
+    double combine(double acc, double w) {
+        switch (this) {
+            case MIN: return Math.min(acc, w);
+            case MAX: return Math.max(acc, w);
+            default: return acc + w;
+        }
+    }
+}
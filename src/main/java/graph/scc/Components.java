@@ -0,0 +1,41 @@
+package graph.scc;
+
+import graph.csr.IntGraph;
+
+import java.util.*;
+
+public class Components {
+    private final int[] compOf;
+    private final int count;
+
+    public Components(int[] compOf, int count) {
+        this.compOf = compOf;
+        this.count = count;
+    }
+
+    public int getCount() { return count; }
+    public int[] getCompOf() { return compOf; }
+    public int componentOf(int v) { return compOf[v]; }
+
+    public Components reversed() {
+        int[] ids = new int[compOf.length];
+        for (int v = 0; v < ids.length; v++) ids[v] = count - 1 - compOf[v];
+        return new Components(ids, count);
+    }
+
+    public int[][] members() {
+        int[] sizes = new int[count];
+        for (int c : compOf) sizes[c]++;
+        int[][] out = new int[count][];
+        for (int c = 0; c < count; c++) out[c] = new int[sizes[c]];
+        int[] fill = new int[count];
+        for (int v = 0; v < compOf.length; v++) out[compOf[v]][fill[compOf[v]]++] = v;
+        return out;
+    }
+
+    public List<List<String>> toLists(IntGraph g) {
+        List<List<String>> lists = new ArrayList<>(count);
+        for (int[] comp : members()) lists.add(g.labels(comp));
+        return lists;
+    }
+}
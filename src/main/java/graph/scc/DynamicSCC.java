@@ -0,0 +1,295 @@
+package graph.scc;
+
+import graph.Graph;
+import graph.GraphSnapshot;
+import graph.csr.CsrGraph;
+import util.Metrics;
+
+import java.util.*;
+
+/**
+ * Strongly connected components and their condensation DAG maintained under
+ * edge insertions and deletions.
+ * <p>
+ * Components carry sparse order labels that always form a topological order
+ * of the condensation. An insertion that agrees with that order costs O(1);
+ * otherwise a Pearce–Kelly style search confined to the components between
+ * the two endpoints either reorders that window or, if it closes a cycle,
+ * merges the components on it. A deletion inside a component re-runs Tarjan
+ * on that component only and splits it if it is no longer strongly connected.
+ */
+public class DynamicSCC {
+    private static final long GAP = 1L << 20;
+
+    private final Metrics metrics;
+    private final CsrGraph index;
+    private final List<Map<Integer, Integer>> out = new ArrayList<>();
+    private final List<Map<Integer, Integer>> in = new ArrayList<>();
+    private final int[] compOf;
+
+    private final List<Set<Integer>> members = new ArrayList<>();
+    private final List<Map<Integer, Integer>> condOut = new ArrayList<>();
+    private final List<Map<Integer, Integer>> condIn = new ArrayList<>();
+    private long[] ord = new long[16];
+    private final TreeMap<Long, Integer> byOrd = new TreeMap<>();
+
+    public DynamicSCC(Graph g, Metrics metrics) {
+        this(g.snapshot(), metrics);
+    }
+
+    public DynamicSCC(GraphSnapshot g, Metrics metrics) {
+        this.metrics = metrics;
+        this.index = g.csr();
+        int n = index.vertexCount();
+        for (int u = 0; u < n; u++) {
+            out.add(new HashMap<>());
+            in.add(new HashMap<>());
+        }
+        for (int u = 0; u < n; u++) {
+            for (int e = index.begin(u); e < index.end(u); e++) {
+                int v = index.target(e);
+                out.get(u).merge(v, 1, Integer::sum);
+                in.get(v).merge(u, 1, Integer::sum);
+            }
+        }
+
+        Components comps = new TarjanSCC(metrics).compute(index).reversed();
+        compOf = comps.getCompOf().clone();
+        for (int c = 0; c < comps.getCount(); c++) newComponent(c * GAP);
+        for (int u = 0; u < n; u++) members.get(compOf[u]).add(u);
+        for (int u = 0; u < n; u++)
+            for (var e : out.get(u).entrySet())
+                if (compOf[u] != compOf[e.getKey()])
+                    addCondEdge(compOf[u], compOf[e.getKey()], e.getValue());
+    }
+
+    public SccUpdate addEdge(String from, String to) {
+        int u = index.vertex(from), v = index.vertex(to);
+        out.get(u).merge(v, 1, Integer::sum);
+        in.get(v).merge(u, 1, Integer::sum);
+
+        SccUpdate update = new SccUpdate();
+        int cu = compOf[u], cv = compOf[v];
+        if (cu == cv) return update;
+        addCondEdge(cu, cv, 1);
+        if (ord[cu] < ord[cv]) return update;
+
+        // Both searches stay inside the window [ord[cv], ord[cu]] of the current order
+        Set<Integer> fwd = search(cv, condOut, ord[cu], true);
+        Set<Integer> bwd = search(cu, condIn, ord[cv], false);
+
+        List<Integer> front = new ArrayList<>();
+        List<Integer> back = new ArrayList<>();
+        Set<Integer> cycle = new HashSet<>();
+        if (fwd.contains(cu)) {
+            for (int c : fwd) if (bwd.contains(c)) cycle.add(c);
+        }
+        for (int c : bwd) if (!cycle.contains(c)) front.add(c);
+        for (int c : fwd) if (!cycle.contains(c)) back.add(c);
+
+        List<Long> labels = new ArrayList<>();
+        for (int c : fwd) labels.add(ord[c]);
+        for (int c : bwd) if (!fwd.contains(c)) labels.add(ord[c]);
+        Collections.sort(labels);
+
+        // Pearce–Kelly: the backward set takes the lowest pooled labels, the forward
+        // set the highest; a merged cycle component sits between them
+        Comparator<Integer> byLabel = Comparator.comparingLong(c -> ord[c]);
+        front.sort(byLabel);
+        back.sort(byLabel);
+        for (long label : labels) byOrd.remove(label);
+        for (int i = 0; i < front.size(); i++) setOrd(front.get(i), labels.get(i));
+        int offset = labels.size() - back.size();
+        for (int i = 0; i < back.size(); i++) setOrd(back.get(i), labels.get(offset + i));
+        if (!cycle.isEmpty()) setOrd(merge(cycle, update), labels.get(front.size()));
+        return update;
+    }
+
+    public SccUpdate removeEdge(String from, String to) {
+        int u = index.vertex(from), v = index.vertex(to);
+        if (!out.get(u).containsKey(v))
+            throw new IllegalArgumentException("No edge " + from + " -> " + to);
+        decrement(out.get(u), v);
+        decrement(in.get(v), u);
+
+        SccUpdate update = new SccUpdate();
+        int cu = compOf[u], cv = compOf[v];
+        if (cu != cv) {
+            decrement(condOut.get(cu), cv);
+            decrement(condIn.get(cv), cu);
+            return update;
+        }
+        if (!out.get(u).containsKey(v)) split(cu, update);
+        return update;
+    }
+
+    public int componentOf(String v) { return compOf[index.vertex(v)]; }
+    public int componentCount() { return byOrd.size(); }
+
+    public List<String> members(int comp) {
+        List<String> out = new ArrayList<>();
+        for (int v : members.get(comp)) out.add(index.label(v));
+        return out;
+    }
+
+    public List<Integer> topologicalOrder() {
+        return new ArrayList<>(byOrd.values());
+    }
+
+    public List<List<String>> components() {
+        List<List<String>> comps = new ArrayList<>();
+        for (int c : byOrd.values()) comps.add(members(c));
+        return comps;
+    }
+
+    public Map<String, List<String>> condensation() {
+        Map<String, List<String>> dag = new HashMap<>();
+        for (int c : byOrd.values()) {
+            List<String> vs = new ArrayList<>();
+            for (int d : condOut.get(c).keySet()) vs.add("C" + d);
+            dag.put("C" + c, vs);
+        }
+        return dag;
+    }
+
+    private Set<Integer> search(int start, List<Map<Integer, Integer>> edges, long bound, boolean forward) {
+        Set<Integer> seen = new HashSet<>();
+        Deque<Integer> stack = new ArrayDeque<>();
+        seen.add(start);
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            int c = stack.pop();
+            metrics.dfsVisits++;
+            for (int d : edges.get(c).keySet()) {
+                metrics.dfsEdges++;
+                boolean inWindow = forward ? ord[d] <= bound : ord[d] >= bound;
+                if (inWindow && seen.add(d)) stack.push(d);
+            }
+        }
+        return seen;
+    }
+
+    private int merge(Set<Integer> cycle, SccUpdate update) {
+        int rep = -1;
+        for (int c : cycle)
+            if (rep == -1 || members.get(c).size() > members.get(rep).size()) rep = c;
+
+        for (int c : cycle) {
+            if (c == rep) continue;
+            for (int w : members.get(c)) compOf[w] = rep;
+            members.get(rep).addAll(members.get(c));
+            for (var e : condOut.get(c).entrySet()) {
+                condIn.get(e.getKey()).remove(c);
+                if (!cycle.contains(e.getKey())) addCondEdge(rep, e.getKey(), e.getValue());
+            }
+            for (var e : condIn.get(c).entrySet()) {
+                condOut.get(e.getKey()).remove(c);
+                if (!cycle.contains(e.getKey())) addCondEdge(e.getKey(), rep, e.getValue());
+            }
+            members.set(c, null);
+            condOut.set(c, null);
+            condIn.set(c, null);
+            update.removed(c);
+        }
+        update.changed(rep);
+        return rep;
+    }
+
+    private void split(int comp, SccUpdate update) {
+        int[] verts = members.get(comp).stream().mapToInt(Integer::intValue).toArray();
+        Map<Integer, Integer> local = new HashMap<>();
+        for (int i = 0; i < verts.length; i++) local.put(verts[i], i);
+
+        int[] from = new int[16], to = new int[16];
+        int m = 0;
+        for (int i = 0; i < verts.length; i++) {
+            for (int w : out.get(verts[i]).keySet()) {
+                Integer j = local.get(w);
+                if (j == null) continue;
+                if (m == from.length) {
+                    from = Arrays.copyOf(from, 2 * m);
+                    to = Arrays.copyOf(to, 2 * m);
+                }
+                from[m] = i;
+                to[m++] = j;
+            }
+        }
+        Components pieces = new TarjanSCC(metrics).compute(CsrGraph.fromEdges(verts.length, m, from, to, null, null));
+        if (pieces.getCount() == 1) return;
+
+        for (int d : condOut.get(comp).keySet()) condIn.get(d).remove(comp);
+        for (int d : condIn.get(comp).keySet()) condOut.get(d).remove(comp);
+        condOut.set(comp, new HashMap<>());
+        condIn.set(comp, new HashMap<>());
+        members.set(comp, new HashSet<>());
+
+        // Tarjan numbers pieces sinks-first; the largest piece keeps the old id
+        int k = pieces.getCount();
+        int[][] groups = pieces.members();
+        int largest = 0;
+        for (int p = 1; p < k; p++) if (groups[p].length > groups[largest].length) largest = p;
+
+        long lo = ord[comp];
+        Long next = byOrd.higherKey(lo);
+        if ((next == null ? lo + GAP * k : next) - lo <= k) {
+            relabel(Math.max(GAP, 2L * k));
+            lo = ord[comp];
+            next = byOrd.higherKey(lo);
+        }
+        long step = ((next == null ? lo + GAP * k : next) - lo) / k;
+        byOrd.remove(lo);
+
+        int[] ids = new int[k];
+        for (int p = 0; p < k; p++) {
+            long label = lo + step * (k - 1 - p);
+            if (p == largest) {
+                ids[p] = comp;
+                setOrd(comp, label);
+            } else {
+                ids[p] = newComponent(label);
+            }
+            for (int i : groups[p]) {
+                compOf[verts[i]] = ids[p];
+                members.get(ids[p]).add(verts[i]);
+            }
+            update.changed(ids[p]);
+        }
+
+        for (int w : verts) {
+            for (var e : out.get(w).entrySet())
+                if (compOf[w] != compOf[e.getKey()]) addCondEdge(compOf[w], compOf[e.getKey()], e.getValue());
+            for (var e : in.get(w).entrySet())
+                if (local.get(e.getKey()) == null) addCondEdge(compOf[e.getKey()], compOf[w], e.getValue());
+        }
+    }
+
+    private int newComponent(long label) {
+        int c = members.size();
+        members.add(new HashSet<>());
+        condOut.add(new HashMap<>());
+        condIn.add(new HashMap<>());
+        if (c == ord.length) ord = Arrays.copyOf(ord, 2 * c);
+        setOrd(c, label);
+        return c;
+    }
+
+    private void setOrd(int c, long label) {
+        ord[c] = label;
+        byOrd.put(label, c);
+    }
+
+    private void relabel(long gap) {
+        List<Integer> order = new ArrayList<>(byOrd.values());
+        byOrd.clear();
+        for (int i = 0; i < order.size(); i++) setOrd(order.get(i), i * gap);
+    }
+
+    private void addCondEdge(int cu, int cv, int count) {
+        condOut.get(cu).merge(cv, count, Integer::sum);
+        condIn.get(cv).merge(cu, count, Integer::sum);
+    }
+
+    private static void decrement(Map<Integer, Integer> counts, int key) {
+        counts.computeIfPresent(key, (k, c) -> c == 1 ? null : c - 1);
+    }
+}
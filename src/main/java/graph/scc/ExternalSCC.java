@@ -0,0 +1,324 @@
+package graph.scc;
+
+import graph.io.EdgeFile;
+import util.Metrics;
+import util.Phase;
+import util.PhaseTimer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.*;
+import java.util.*;
+
+/**
+ * Semi-external SCC decomposition over an {@link EdgeFile}: only a few
+ * arrays of length {@code n} are resident and edges are streamed in
+ * sequential passes. The input is first copied into a temp file sorted by
+ * source and target with parallel edges collapsed and self-loops dropped.
+ * Each round then trims vertices with no live in- or out-neighbour until
+ * none is left, propagates the minimum reaching vertex id forward until it
+ * is stable, and marks backwards from every vertex that kept its own id;
+ * the marked vertices with the same id form one SCC. Component ids are
+ * numbered by smallest vertex, matching {@link ParallelSCC}.
+ * <p>
+ * Trimming cascades within a pass, so on the sorted copy an acyclic region
+ * whose ids follow a topological order, ascending or descending, is peeled
+ * in a single pass. That is no bound in general: against an adversarial
+ * numbering, trimming may still take one pass per layer, and each colouring
+ * round settles at least one SCC in up to diameter-many passes, so the worst
+ * case stays O(#SCC &times; diameter) passes.
+ * <p>
+ * The sorted copy and the condensation edges are cut into sorted, collapsed
+ * runs of at most {@code runRecords} edges in a temp directory and k-way
+ * merged, ordered by source then target.
+ */
+public class ExternalSCC {
+    static final int DEFAULT_RUN_RECORDS = 1 << 20;
+    /** Component of a vertex not yet assigned; also the colour of a vertex no longer live. */
+    private static final int UNASSIGNED = -1;
+
+    private final Metrics metrics;
+    private final Path tmpDir;
+    private final int runRecords;
+    private int passes;
+
+    public ExternalSCC(Metrics metrics, Path tmpDir) {
+        this(metrics, tmpDir, DEFAULT_RUN_RECORDS);
+    }
+
+    public ExternalSCC(Metrics metrics, Path tmpDir, int runRecords) {
+        if (runRecords < 1) throw new IllegalArgumentException("runRecords must be >= 1");
+        this.metrics = metrics;
+        this.tmpDir = tmpDir;
+        this.runRecords = runRecords;
+    }
+
+    /** Sequential scans of the input and its sorted copy made by the last call. */
+    public int passes() { return passes; }
+
+    public Components compute(Path edges) throws IOException {
+        return compute(edges, null, CollapsePolicy.MIN);
+    }
+
+    /** Also writes the condensation when {@code condensationOut} is non-null. */
+    public Components compute(Path edges, Path condensationOut, CollapsePolicy policy) throws IOException {
+        passes = 0;
+        Path sorted = Files.createTempFile(tmpDir, "scc-sorted-", EdgeFile.EXTENSION);
+        try {
+            PhaseTimer timer = metrics.start(Phase.SCC);
+            try (EdgeFile.Reader in = new EdgeFile.Reader(edges)) {
+                int[] identity = new int[in.vertexCount()];
+                for (int v = 0; v < identity.length; v++) identity[v] = v;
+                // collapsing with the same policy first leaves the condensation weights unchanged
+                writeCondensation(in, new Components(identity, identity.length), sorted, policy);
+            }
+            timer.stop();
+            try (EdgeFile.Reader in = new EdgeFile.Reader(sorted)) {
+                Components comps = components(in);
+                if (condensationOut != null) {
+                    timer = metrics.start(Phase.CONDENSATION);
+                    writeCondensation(in, comps, condensationOut, policy);
+                    timer.stop();
+                }
+                return comps;
+            }
+        } finally {
+            Files.deleteIfExists(sorted);
+        }
+    }
+
+    private Components components(EdgeFile.Reader in) throws IOException {
+        PhaseTimer timer = metrics.start(Phase.SCC);
+        int n = in.vertexCount();
+        int[] comp = new int[n];
+        int[] a = new int[n];
+        int[] b = new int[n];
+        long[] killedAt = new long[n];
+        Arrays.fill(comp, UNASSIGNED);
+        int left = n;
+
+        while (left > 0) {
+            left -= trim(in, comp, a, b, killedAt, left);
+            if (left == 0) break;
+
+            // a[v]: smallest live vertex id that reaches v
+            for (int v = 0; v < n; v++) a[v] = comp[v] == UNASSIGNED ? v : UNASSIGNED;
+            boolean changed = true;
+            while (changed) {
+                changed = false;
+                scan(in);
+                while (in.next()) {
+                    int u = in.u(), v = in.v();
+                    if (a[u] != UNASSIGNED && a[v] != UNASSIGNED && a[u] < a[v]) {
+                        a[v] = a[u];
+                        changed = true;
+                    }
+                }
+            }
+
+            // b[v] == 1: v reaches the root of its colour class inside that class
+            for (int v = 0; v < n; v++) b[v] = a[v] == v ? 1 : 0;
+            changed = true;
+            while (changed) {
+                changed = false;
+                scan(in);
+                while (in.next()) {
+                    int u = in.u(), v = in.v();
+                    if (b[v] == 1 && b[u] == 0 && a[u] != UNASSIGNED && a[u] == a[v]) {
+                        b[u] = 1;
+                        changed = true;
+                    }
+                }
+            }
+
+            for (int v = 0; v < n; v++) {
+                if (b[v] == 1) {
+                    comp[v] = a[v];
+                    left--;
+                }
+            }
+        }
+
+        // each component is labelled by its smallest vertex; renumber in vertex order
+        int count = 0;
+        for (int v = 0; v < n; v++) if (comp[v] == v) a[v] = count++;
+        for (int v = 0; v < n; v++) comp[v] = a[comp[v]];
+        metrics.dfsVisits += n;
+        timer.stop();
+        return new Components(comp, count);
+    }
+
+    /**
+     * Removes live vertices without a live in- or out-neighbour until none is
+     * left and returns how many went. A vertex dies as soon as its last
+     * neighbour edge is discounted, so later edges of the same pass already
+     * see it dead. Every edge tick, plus one per pass end, advances a clock and
+     * {@code killedAt} records when each vertex died; an edge is discounted on
+     * its first sighting after an endpoint died, that is when the death lies
+     * between this sighting and the previous one.
+     */
+    private int trim(EdgeFile.Reader in, int[] comp, int[] out, int[] indeg, long[] killedAt, int live)
+            throws IOException {
+        long span = in.edgeCount() + 1, now = 0;
+        for (int v = 0; v < comp.length; v++) {
+            out[v] = indeg[v] = 0;
+            // vertices settled earlier never counted, so they must never be discounted
+            killedAt[v] = comp[v] == UNASSIGNED ? Long.MAX_VALUE : Long.MIN_VALUE;
+        }
+        scan(in);
+        while (in.next()) {
+            now++;
+            int u = in.u(), v = in.v();
+            if (u != v && comp[u] == UNASSIGNED && comp[v] == UNASSIGNED) {
+                out[u]++;
+                indeg[v]++;
+            }
+        }
+        now++;
+        int killed = 0;
+        for (int v = 0; v < comp.length; v++) {
+            if (comp[v] == UNASSIGNED && (out[v] == 0 || indeg[v] == 0)) {
+                comp[v] = v;
+                killedAt[v] = now;
+                killed++;
+            }
+        }
+
+        int removed = killed;
+        while (killed > 0 && removed < live) {
+            killed = 0;
+            scan(in);
+            while (in.next()) {
+                now++;
+                int u = in.u(), v = in.v();
+                if (u == v) continue;
+                if (killedAt[u] > now - span && killedAt[u] <= now && comp[v] == UNASSIGNED && --indeg[v] == 0) {
+                    comp[v] = v;
+                    killedAt[v] = now;
+                    killed++;
+                }
+                if (killedAt[v] > now - span && killedAt[v] <= now && comp[u] == UNASSIGNED && --out[u] == 0) {
+                    comp[u] = u;
+                    killedAt[u] = now;
+                    killed++;
+                }
+            }
+            now++;
+            removed += killed;
+        }
+        return removed;
+    }
+
+    private void scan(EdgeFile.Reader in) throws IOException {
+        in.rewind();
+        passes++;
+        metrics.dfsEdges += in.edgeCount();
+    }
+
+    private void writeCondensation(EdgeFile.Reader in, Components comps, Path out, CollapsePolicy policy)
+            throws IOException {
+        int[] compOf = comps.getCompOf();
+        long[] keys = new long[(int) Math.min(runRecords, Math.max(1, in.edgeCount()))];
+        double[] weights = new double[keys.length];
+        List<Path> runs = new ArrayList<>();
+        try {
+            int size = 0;
+            scan(in);
+            while (in.next()) {
+                int cu = compOf[in.u()], cv = compOf[in.v()];
+                if (cu == cv) continue;
+                keys[size] = (long) cu << 32 | cv;
+                weights[size++] = in.w();
+                if (size == keys.length) {
+                    runs.add(writeRun(keys, weights, size, comps.getCount(), policy));
+                    size = 0;
+                }
+            }
+            if (size > 0 || runs.isEmpty()) runs.add(writeRun(keys, weights, size, comps.getCount(), policy));
+            merge(runs, out, comps.getCount(), policy);
+        } finally {
+            for (Path run : runs) Files.deleteIfExists(run);
+        }
+    }
+
+    private Path writeRun(long[] keys, double[] weights, int size, int count, CollapsePolicy policy)
+            throws IOException {
+        sort(keys, weights, 0, size);
+        Path run = Files.createTempFile(tmpDir, "scc-run-", EdgeFile.EXTENSION);
+        try (EdgeFile.Writer w = new EdgeFile.Writer(run, count)) {
+            for (int i = 0; i < size; ) {
+                long key = keys[i];
+                double acc = weights[i++];
+                while (i < size && keys[i] == key) acc = policy.combine(acc, weights[i++]);
+                w.append((int) (key >>> 32), (int) key, acc);
+            }
+        }
+        return run;
+    }
+
+    private static void merge(List<Path> runs, Path out, int count, CollapsePolicy policy) throws IOException {
+        List<EdgeFile.Reader> readers = new ArrayList<>(runs.size());
+        try (EdgeFile.Writer w = new EdgeFile.Writer(out, count)) {
+            PriorityQueue<EdgeFile.Reader> heads = new PriorityQueue<>(Comparator.comparingLong(ExternalSCC::key));
+            for (Path run : runs) {
+                EdgeFile.Reader r = new EdgeFile.Reader(run);
+                readers.add(r);
+                if (r.next()) heads.add(r);
+            }
+            while (!heads.isEmpty()) {
+                EdgeFile.Reader r = heads.poll();
+                long key = key(r);
+                double acc = r.w();
+                advance(heads, r);
+                while (!heads.isEmpty() && key(heads.peek()) == key) {
+                    EdgeFile.Reader same = heads.poll();
+                    acc = policy.combine(acc, same.w());
+                    advance(heads, same);
+                }
+                w.append((int) (key >>> 32), (int) key, acc);
+            }
+        } finally {
+            for (EdgeFile.Reader r : readers) r.close();
+        }
+    }
+
+    private static long key(EdgeFile.Reader r) {
+        return (long) r.u() << 32 | r.v();
+    }
+
+    private static void advance(PriorityQueue<EdgeFile.Reader> heads, EdgeFile.Reader r) {
+        try {
+            if (r.next()) heads.add(r);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // quicksort of keys carrying weights along; insertion sort below 16 elements
+    static void sort(long[] k, double[] w, int lo, int hi) {
+        while (hi - lo > 16) {
+            int mid = (lo + hi) >>> 1;
+            long p = Math.max(Math.min(k[lo], k[mid]), Math.min(Math.max(k[lo], k[mid]), k[hi - 1]));
+            int i = lo, j = hi - 1;
+            while (i <= j) {
+                while (k[i] < p) i++;
+                while (k[j] > p) j--;
+                if (i <= j) swap(k, w, i++, j--);
+            }
+            if (j + 1 - lo < hi - i) {
+                sort(k, w, lo, j + 1);
+                lo = i;
+            } else {
+                sort(k, w, i, hi);
+                hi = j + 1;
+            }
+        }
+        for (int i = lo + 1; i < hi; i++)
+            for (int j = i; j > lo && k[j - 1] > k[j]; j--) swap(k, w, j - 1, j);
+    }
+
+    private static void swap(long[] k, double[] w, int i, int j) {
+        long tk = k[i]; k[i] = k[j]; k[j] = tk;
+        double tw = w[i]; w[i] = w[j]; w[j] = tw;
+    }
+}
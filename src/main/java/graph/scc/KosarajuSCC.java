@@ -1,6 +1,11 @@
 package graph.scc;
 
+import graph.Workspace;
+import graph.csr.CsrGraph;
+import graph.csr.IntGraph;
 import util.Metrics;
+import util.Phase;
+import util.PhaseTimer;
 import java.util.*;
 
 public class KosarajuSCC {
@@ -11,82 +16,95 @@ public class KosarajuSCC {
     }
 
     public List<List<String>> compute(Map<String, List<String>> adj) {
-        metrics.startTimer();
-
-        Set<String> visited = new HashSet<>();
-        Deque<String> stack = new ArrayDeque<>();
-        for (String v : adj.keySet()) {
-            if (!visited.contains(v))
-                dfs1(v, adj, visited, stack);
-        }
-
-        Map<String, List<String>> transposed = transpose(adj);
-        visited.clear();
-        List<List<String>> components = new ArrayList<>();
-
-        while (!stack.isEmpty()) {
-            String v = stack.pop();
-            if (!visited.contains(v)) {
-                List<String> comp = new ArrayList<>();
-                dfs2(v, transposed, visited, comp);
-                components.add(comp);
-            }
-        }
+        CsrGraph g = CsrGraph.fromAdjacency(adj);
+        return compute(g).toLists(g);
+    }
 
-        metrics.stopTimer();
-        return components;
+    public Components compute(IntGraph g) {
+        Workspace ws = new Workspace();
+        int count = compute(g, ws);
+        return new Components(ws.compOf(g.vertexCount()), count);
     }
 
-    public Map<String, List<String>> buildCondensation(Map<String, List<String>> adj, List<List<String>> comps) {
-        Map<String, String> nodeToComp = new HashMap<>();
-        for (int i = 0; i < comps.size(); i++)
-            for (String v : comps.get(i))
-                nodeToComp.put(v, "C" + i);
+    /** Writes component ids into {@code ws.compOf(n)} and returns the component count. */
+    public int compute(IntGraph g, Workspace ws) {
+        PhaseTimer timer = metrics.start(Phase.SCC);
 
-        Map<String, List<String>> dag = new HashMap<>();
-        for (int i = 0; i < comps.size(); i++) dag.put("C" + i, new ArrayList<>());
+        int n = g.vertexCount();
+        long[] visited = ws.visited(n);
+        int[] finished = ws.finished(n);
+        int finishedCount = 0;
 
-        for (var e : adj.entrySet()) {
-            String u = e.getKey();
-            for (String v : e.getValue()) {
-                String cu = nodeToComp.get(u);
-                String cv = nodeToComp.get(v);
-                if (!cu.equals(cv) && !dag.get(cu).contains(cv)) {
-                    dag.get(cu).add(cv);
+        // pass 1: iterative DFS recording vertices in finish order
+        int[] stack = ws.stack(n);
+        int[] cursor = ws.cursor(n);
+        for (int s = 0; s < n; s++) {
+            if ((visited[s >>> 6] & (1L << s)) != 0) continue;
+            int top = 0;
+            stack[top++] = s;
+            visited[s >>> 6] |= 1L << s;
+            cursor[s] = g.begin(s);
+            metrics.dfsVisits++;
+            while (top > 0) {
+                int u = stack[top - 1];
+                if (cursor[u] < g.end(u)) {
+                    int v = g.target(cursor[u]++);
+                    metrics.dfsEdges++;
+                    if ((visited[v >>> 6] & (1L << v)) == 0) {
+                        visited[v >>> 6] |= 1L << v;
+                        cursor[v] = g.begin(v);
+                        metrics.dfsVisits++;
+                        stack[top++] = v;
+                    }
+                } else {
+                    finished[finishedCount++] = u;
+                    top--;
                 }
             }
         }
-        return dag;
-    }
 
-    private void dfs1(String u, Map<String, List<String>> adj, Set<String> visited, Deque<String> stack) {
-        visited.add(u);
-        metrics.dfsVisits++;
-        for (String v : adj.getOrDefault(u, List.of())) {
-            metrics.dfsEdges++;
-            if (!visited.contains(v))
-                dfs1(v, adj, visited, stack);
+        // pass 2: flood the transpose in reverse finish order
+        IntGraph rev = g.transpose();
+        int[] compOf = ws.compOf(n);
+        Arrays.fill(compOf, 0, n, -1);
+        int count = 0;
+        for (int i = n - 1; i >= 0; i--) {
+            int s = finished[i];
+            if (compOf[s] != -1) continue;
+            int top = 0;
+            stack[top++] = s;
+            compOf[s] = count;
+            while (top > 0) {
+                int u = stack[--top];
+                for (int e = rev.begin(u); e < rev.end(u); e++) {
+                    int v = rev.target(e);
+                    if (compOf[v] == -1) {
+                        compOf[v] = count;
+                        stack[top++] = v;
+                    }
+                }
+            }
+            count++;
         }
-        stack.push(u);
-    }
 
-    private void dfs2(String u, Map<String, List<String>> adj, Set<String> visited, List<String> comp) {
-        visited.add(u);
-        comp.add(u);
-        for (String v : adj.getOrDefault(u, List.of())) {
-            if (!visited.contains(v))
-                dfs2(v, adj, visited, comp);
-        }
+        timer.stop();
+        return count;
     }
 
-    private Map<String, List<String>> transpose(Map<String, List<String>> adj) {
-        Map<String, List<String>> rev = new HashMap<>();
-        for (String u : adj.keySet()) rev.put(u, new ArrayList<>());
-        for (var e : adj.entrySet()) {
-            String u = e.getKey();
-            for (String v : e.getValue())
-                rev.get(v).add(u);
+    public Map<String, List<String>> buildCondensation(Map<String, List<String>> adj, List<List<String>> comps) {
+        CsrGraph g = CsrGraph.fromAdjacency(adj);
+        int[] compOf = new int[g.vertexCount()];
+        for (int i = 0; i < comps.size(); i++)
+            for (String v : comps.get(i))
+                compOf[g.vertex(v)] = i;
+
+        CsrGraph dag = new CondensationBuilder().build(g, new Components(compOf, comps.size()), CollapsePolicy.MIN);
+        Map<String, List<String>> out = new HashMap<>();
+        for (int cu = 0; cu < dag.vertexCount(); cu++) {
+            List<String> vs = new ArrayList<>(dag.outDegree(cu));
+            for (int e = dag.begin(cu); e < dag.end(cu); e++) vs.add(dag.label(dag.target(e)));
+            out.put(dag.label(cu), vs);
         }
-        return rev;
+        return out;
     }
 }
@@ -0,0 +1,305 @@
+package graph.scc;
+
+import graph.csr.CsrGraph;
+import graph.csr.IntGraph;
+import util.Metrics;
+import util.Phase;
+import util.PhaseTimer;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel SCC decomposition on a {@link ForkJoinPool}: a few rounds of
+ * parallel trimming peel off trivial components, then forward-backward
+ * reachability splits the remaining vertices recursively. Partitions that
+ * fall below {@link #SEQUENTIAL_THRESHOLD} are finished with a local Tarjan.
+ * Component ids are renumbered by their smallest vertex, so the result is
+ * deterministic regardless of scheduling.
+ */
+public class ParallelSCC {
+    static final int SEQUENTIAL_THRESHOLD = 4096;
+    private static final int PARALLEL_FRONTIER = 2048;
+    private static final int TRIM_ROUNDS = 3;
+    private static final int DONE = -1;
+
+    private final Metrics metrics;
+    private final int parallelism;
+
+    public ParallelSCC(Metrics metrics) {
+        this(metrics, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelSCC(Metrics metrics, int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1");
+        this.metrics = metrics;
+        this.parallelism = parallelism;
+    }
+
+    public List<List<String>> compute(Map<String, List<String>> adj) {
+        CsrGraph g = CsrGraph.fromAdjacency(adj);
+        return compute(g).toLists(g);
+    }
+
+    public Components compute(IntGraph g) {
+        PhaseTimer timer = metrics.start(Phase.SCC);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            Run run = new Run(g);
+            pool.invoke(ForkJoinTask.adapt(run::execute));
+            metrics.dfsVisits += run.visits.sum();
+            metrics.dfsEdges += run.edges.sum();
+            return run.result();
+        } finally {
+            pool.shutdown();
+            timer.stop();
+        }
+    }
+
+    private static final class Run {
+        final IntGraph g;
+        final CsrGraph rev;
+        final int n;
+        final int[] color;
+        final int[] compOf;
+        final int[] localId;
+        final AtomicIntegerArray fwMark;
+        final AtomicIntegerArray bwMark;
+        final AtomicInteger nextColor = new AtomicInteger(1);
+        final AtomicInteger nextComp = new AtomicInteger();
+        final LongAdder visits = new LongAdder();
+        final LongAdder edges = new LongAdder();
+
+        Run(IntGraph g) {
+            this.g = g;
+            this.rev = g.transpose();
+            this.n = g.vertexCount();
+            this.color = new int[n];
+            this.compOf = new int[n];
+            this.localId = new int[n];
+            this.fwMark = new AtomicIntegerArray(n);
+            this.bwMark = new AtomicIntegerArray(n);
+        }
+
+        void execute() {
+            for (int round = 0; round < TRIM_ROUNDS; round++) {
+                if (trim() == 0) break;
+            }
+            int root = nextColor.getAndIncrement();
+            int[] rest = IntStream.range(0, n).parallel().filter(v -> color[v] == 0).toArray();
+            Arrays.stream(rest).parallel().forEach(v -> color[v] = root);
+            new FwBwTask(this, rest, root).invoke();
+        }
+
+        // A vertex with no live in- or out-neighbour (ignoring self-loops) is a singleton SCC.
+        // Racy reads of color only ever see a neighbour as still alive, which is conservative.
+        private int trim() {
+            return IntStream.range(0, n).parallel().map(v -> {
+                if (color[v] != 0) return 0;
+                if (hasLiveNeighbour(g, v) && hasLiveNeighbour(rev, v)) return 0;
+                color[v] = DONE;
+                compOf[v] = nextComp.getAndIncrement();
+                return 1;
+            }).sum();
+        }
+
+        private boolean hasLiveNeighbour(IntGraph graph, int v) {
+            for (int e = graph.begin(v); e < graph.end(v); e++) {
+                int w = graph.target(e);
+                if (w != v && color[w] == 0) return true;
+            }
+            return false;
+        }
+
+        void reach(IntGraph graph, int pivot, int c, AtomicIntegerArray mark) {
+            mark.set(pivot, c);
+            int[] frontier = {pivot};
+            while (frontier.length > 0) {
+                visits.add(frontier.length);
+                if (frontier.length < PARALLEL_FRONTIER) {
+                    frontier = expand(graph, frontier, 0, frontier.length, c, mark);
+                } else {
+                    int[] f = frontier;
+                    int chunk = Math.max(PARALLEL_FRONTIER / 4, f.length / (4 * parallelismHint()));
+                    int chunks = (f.length + chunk - 1) / chunk;
+                    int[][] parts = IntStream.range(0, chunks).parallel()
+                            .mapToObj(i -> expand(graph, f, i * chunk, Math.min(f.length, (i + 1) * chunk), c, mark))
+                            .toArray(int[][]::new);
+                    frontier = concat(parts);
+                }
+            }
+        }
+
+        private int[] expand(IntGraph graph, int[] frontier, int from, int to, int c, AtomicIntegerArray mark) {
+            int[] next = new int[16];
+            int size = 0;
+            long scanned = 0;
+            for (int i = from; i < to; i++) {
+                int u = frontier[i];
+                for (int e = graph.begin(u); e < graph.end(u); e++) {
+                    scanned++;
+                    int v = graph.target(e);
+                    if (color[v] != c) continue;
+                    int seen = mark.get(v);
+                    if (seen != c && mark.compareAndSet(v, seen, c)) {
+                        if (size == next.length) next = Arrays.copyOf(next, size * 2);
+                        next[size++] = v;
+                    }
+                }
+            }
+            edges.add(scanned);
+            return Arrays.copyOf(next, size);
+        }
+
+        private static int parallelismHint() {
+            ForkJoinPool pool = ForkJoinTask.getPool();
+            return pool == null ? 1 : pool.getParallelism();
+        }
+
+        private static int[] concat(int[][] parts) {
+            int total = 0;
+            for (int[] p : parts) total += p.length;
+            int[] out = new int[total];
+            int k = 0;
+            for (int[] p : parts) {
+                System.arraycopy(p, 0, out, k, p.length);
+                k += p.length;
+            }
+            return out;
+        }
+
+        // Iterative Tarjan restricted to the vertices coloured c.
+        void tarjan(int[] verts, int c) {
+            int k = verts.length;
+            for (int i = 0; i < k; i++) localId[verts[i]] = i;
+            int[] index = new int[k];
+            int[] low = new int[k];
+            int[] cursor = new int[k];
+            int[] callStack = new int[k];
+            int[] sccStack = new int[k];
+            boolean[] assigned = new boolean[k];
+            Arrays.fill(index, -1);
+
+            int counter = 0, sccTop = 0;
+            long scanned = 0;
+            for (int s = 0; s < k; s++) {
+                if (index[s] != -1) continue;
+                int callTop = 0;
+                index[s] = low[s] = counter++;
+                cursor[s] = g.begin(verts[s]);
+                sccStack[sccTop++] = s;
+                callStack[callTop++] = s;
+
+                while (callTop > 0) {
+                    int u = callStack[callTop - 1];
+                    if (cursor[u] < g.end(verts[u])) {
+                        int w = g.target(cursor[u]++);
+                        scanned++;
+                        if (color[w] != c) continue;
+                        int v = localId[w];
+                        if (index[v] == -1) {
+                            index[v] = low[v] = counter++;
+                            cursor[v] = g.begin(w);
+                            sccStack[sccTop++] = v;
+                            callStack[callTop++] = v;
+                        } else if (!assigned[v] && index[v] < low[u]) {
+                            low[u] = index[v];
+                        }
+                    } else {
+                        callTop--;
+                        if (low[u] == index[u]) {
+                            int comp = nextComp.getAndIncrement();
+                            int w;
+                            do {
+                                w = sccStack[--sccTop];
+                                assigned[w] = true;
+                                compOf[verts[w]] = comp;
+                            } while (w != u);
+                        }
+                        if (callTop > 0) {
+                            int p = callStack[callTop - 1];
+                            if (low[u] < low[p]) low[p] = low[u];
+                        }
+                    }
+                }
+            }
+            for (int v : verts) color[v] = DONE;
+            visits.add(k);
+            edges.add(scanned);
+        }
+
+        Components result() {
+            int[] remap = new int[nextComp.get()];
+            Arrays.fill(remap, -1);
+            int count = 0;
+            int[] ids = new int[n];
+            for (int v = 0; v < n; v++) {
+                int c = compOf[v];
+                if (remap[c] == -1) remap[c] = count++;
+                ids[v] = remap[c];
+            }
+            return new Components(ids, count);
+        }
+    }
+
+    private static final class FwBwTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final Run run;
+        private final int[] verts;
+        private final int c;
+
+        FwBwTask(Run run, int[] verts, int c) {
+            this.run = run;
+            this.verts = verts;
+            this.c = c;
+        }
+
+        @Override
+        protected void compute() {
+            if (verts.length == 0) return;
+            if (verts.length <= SEQUENTIAL_THRESHOLD) {
+                run.tarjan(verts, c);
+                return;
+            }
+
+            int pivot = verts[verts.length / 2];
+            ForkJoinTask<?> bw = ForkJoinTask.adapt(() -> run.reach(run.rev, pivot, c, run.bwMark)).fork();
+            run.reach(run.g, pivot, c, run.fwMark);
+            bw.join();
+
+            int cf = run.nextColor.getAndIncrement();
+            int cb = run.nextColor.getAndIncrement();
+            int cr = run.nextColor.getAndIncrement();
+            int comp = run.nextComp.getAndIncrement();
+            int[] fw = new int[verts.length], bwOnly = new int[verts.length], rest = new int[verts.length];
+            int nf = 0, nb = 0, nr = 0;
+            for (int v : verts) {
+                boolean f = run.fwMark.get(v) == c;
+                boolean b = run.bwMark.get(v) == c;
+                if (f && b) {
+                    run.compOf[v] = comp;
+                    run.color[v] = DONE;
+                } else if (f) {
+                    run.color[v] = cf;
+                    fw[nf++] = v;
+                } else if (b) {
+                    run.color[v] = cb;
+                    bwOnly[nb++] = v;
+                } else {
+                    run.color[v] = cr;
+                    rest[nr++] = v;
+                }
+            }
+            invokeAll(new FwBwTask(run, Arrays.copyOf(fw, nf), cf),
+                    new FwBwTask(run, Arrays.copyOf(bwOnly, nb), cb),
+                    new FwBwTask(run, Arrays.copyOf(rest, nr), cr));
+        }
+    }
+}
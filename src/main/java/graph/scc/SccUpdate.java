@@ -0,0 +1,30 @@
+package graph.scc;
+
+import java.util.*;
+
+public class SccUpdate {
+    private final Set<Integer> removed = new HashSet<>();
+    private final Set<Integer> changed = new HashSet<>();
+
+    void removed(int comp) {
+        removed.add(comp);
+        changed.remove(comp);
+    }
+
+    void changed(int comp) {
+        if (!removed.contains(comp)) changed.add(comp);
+    }
+
+    /** Component ids that no longer exist after the update. */
+    public Set<Integer> getRemoved() { return removed; }
+
+    /** Component ids that were created or whose membership changed. */
+    public Set<Integer> getChanged() { return changed; }
+
+    public boolean isEmpty() { return removed.isEmpty() && changed.isEmpty(); }
+
+    @Override
+    public String toString() {
+        return "removed=" + removed + ", changed=" + changed;
+    }
+}
@@ -0,0 +1,94 @@
+package graph.scc;
+
+import graph.csr.CsrGraph;
+import graph.csr.IntGraph;
+import util.Metrics;
+import util.Phase;
+import util.PhaseTimer;
+import java.util.*;
+
+/**
+ * Single-pass Tarjan SCC with an explicit call stack, so recursion depth is
+ * not bounded by the thread stack. Components are numbered in the order
+ * Tarjan completes them, which is a reverse topological order of the
+ * condensation: component 0 is a sink, component {@code count - 1} a source.
+ */
+public class TarjanSCC {
+    private final Metrics metrics;
+
+    public TarjanSCC(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public List<List<String>> compute(Map<String, List<String>> adj) {
+        CsrGraph g = CsrGraph.fromAdjacency(adj);
+        return compute(g).toLists(g);
+    }
+
+    public Components compute(IntGraph g) {
+        PhaseTimer timer = metrics.start(Phase.SCC);
+
+        int n = g.vertexCount();
+        int[] index = new int[n];
+        int[] low = new int[n];
+        int[] compOf = new int[n];
+        int[] cursor = new int[n];
+        int[] callStack = new int[n];
+        int[] sccStack = new int[n];
+        Arrays.fill(index, -1);
+        Arrays.fill(compOf, -1);
+
+        int counter = 0, count = 0, sccTop = 0;
+        for (int s = 0; s < n; s++) {
+            if (index[s] != -1) continue;
+
+            int callTop = 0;
+            index[s] = low[s] = counter++;
+            cursor[s] = g.begin(s);
+            sccStack[sccTop++] = s;
+            callStack[callTop++] = s;
+            metrics.dfsVisits++;
+
+            while (callTop > 0) {
+                int u = callStack[callTop - 1];
+                if (cursor[u] < g.end(u)) {
+                    int v = g.target(cursor[u]++);
+                    metrics.dfsEdges++;
+                    if (index[v] == -1) {
+                        index[v] = low[v] = counter++;
+                        cursor[v] = g.begin(v);
+                        sccStack[sccTop++] = v;
+                        callStack[callTop++] = v;
+                        metrics.dfsVisits++;
+                    } else if (compOf[v] == -1 && index[v] < low[u]) {
+                        // v is still on the SCC stack
+                        low[u] = index[v];
+                    }
+                } else {
+                    callTop--;
+                    if (low[u] == index[u]) {
+                        int w;
+                        do {
+                            w = sccStack[--sccTop];
+                            compOf[w] = count;
+                        } while (w != u);
+                        count++;
+                    }
+                    if (callTop > 0) {
+                        int p = callStack[callTop - 1];
+                        if (low[u] < low[p]) low[p] = low[u];
+                    }
+                }
+            }
+        }
+
+        timer.stop();
+        return new Components(compOf, count);
+    }
+
+    public int[] topologicalOrder(Components comps) {
+        int[] order = new int[comps.getCount()];
+        for (int i = 0; i < order.length; i++) order[i] = order.length - 1 - i;
+        return order;
+    }
+}
@@ -0,0 +1,102 @@
+package graph.server;
+
+import graph.analysis.GraphAnalysis;
+import graph.csr.CsrGraph;
+import graph.csr.IntGraph;
+import graph.dagsp.DAGShortestPath;
+import graph.dagsp.DagPaths;
+import graph.io.LoadedGraph;
+import graph.scc.CollapsePolicy;
+import graph.scc.Components;
+import graph.scc.CondensationBuilder;
+import util.LruCache;
+import util.Metrics;
+
+import java.util.*;
+
+/**
+ * Warm, read-only view of one graph: components, MIN/MAX condensations and
+ * their topological order are built once, and single-source path results are
+ * kept per source component in an LRU cache. Distances between vertices are
+ * distances between their components in the condensation. Safe for
+ * concurrent queries.
+ */
+public class GraphIndex {
+    private final IntGraph graph;
+    private final Components comps;
+    private final int[][] members;
+    private final CsrGraph shortestDag;
+    private final CsrGraph longestDag;
+    private final int[] order;
+    private final DAGShortestPath dsp;
+    private final LruCache<Integer, DagPaths> paths;
+
+    public GraphIndex(LoadedGraph lg, int cacheSize) {
+        this.graph = lg.getGraph();
+        Metrics m = new Metrics();
+        this.comps = new GraphAnalysis(m).components(graph);
+        this.members = comps.members();
+        CsrGraph[] dags = new CondensationBuilder().build(graph, comps, CollapsePolicy.MIN, CollapsePolicy.MAX);
+        this.shortestDag = dags[0];
+        this.longestDag = dags[1];
+        this.order = GraphAnalysis.topologicalOrder(comps);
+        this.dsp = new DAGShortestPath(m);
+        this.paths = new LruCache<>(cacheSize);
+    }
+
+    public int vertex(String label) {
+        return graph.vertex(label);
+    }
+
+    public int vertexCount() { return graph.vertexCount(); }
+    public int componentCount() { return comps.getCount(); }
+    public int component(int v) { return comps.componentOf(v); }
+    public String componentLabel(int c) { return shortestDag.label(c); }
+
+    public List<String> members(int c) {
+        return graph.labels(members[c]);
+    }
+
+    public DagPaths paths(int sourceComponent) {
+        return paths.computeIfAbsent(sourceComponent, c -> {
+            synchronized (dsp) {
+                return dsp.paths(shortestDag, longestDag, order, c);
+            }
+        });
+    }
+
+    public double shortestDistance(int from, int to) {
+        return paths(component(from)).getShortest()[component(to)];
+    }
+
+    public double longestDistance(int from, int to) {
+        return paths(component(from)).getLongest()[component(to)];
+    }
+
+    /** Component labels along the shortest path, or an empty list when unreachable. */
+    public List<String> shortestPath(int from, int to) {
+        DagPaths p = paths(component(from));
+        int end = component(to);
+        if (p.getShortest()[end] == Double.POSITIVE_INFINITY) return List.of();
+        return shortestDag.labels(dsp.reconstructPath(p.getShortestParent(), end));
+    }
+
+    public List<String> longestPath(int from, int to) {
+        DagPaths p = paths(component(from));
+        int end = component(to);
+        if (p.getLongest()[end] == Double.NEGATIVE_INFINITY) return List.of();
+        return longestDag.labels(dsp.reconstructPath(p.getLongestParent(), end));
+    }
+
+    public List<String> criticalPath(int from) {
+        DagPaths p = paths(component(from));
+        return longestDag.labels(dsp.reconstructPath(p.getLongestParent(), p.getCriticalEnd()));
+    }
+
+    public double criticalLength(int from) {
+        DagPaths p = paths(component(from));
+        return p.getLongest()[p.getCriticalEnd()];
+    }
+
+    LruCache<Integer, DagPaths> pathCache() { return paths; }
+}
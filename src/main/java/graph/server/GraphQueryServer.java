@@ -0,0 +1,163 @@
+package graph.server;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import util.LruCache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Loopback HTTP endpoint over a {@link GraphIndex}. All queries are GETs
+ * answering JSON:
+ * <pre>
+ *   /component?v=X          component of X and its members
+ *   /shortest?from=X&amp;to=Y   shortest distance and path
+ *   /longest?from=X&amp;to=Y    longest distance and path
+ *   /critical?from=X         critical path from X
+ *   /stats                   graph size and cache counters
+ * </pre>
+ * Unreachable targets report a {@code null} distance and an empty path.
+ * Responses for repeated query strings are served from an LRU cache.
+ */
+public class GraphQueryServer {
+    private final GraphIndex index;
+    private final LruCache<String, String> responses;
+    private final Gson gson = new GsonBuilder().serializeNulls().create();
+    private HttpServer server;
+    private ExecutorService executor;
+
+    public GraphQueryServer(GraphIndex index, int cacheSize) {
+        this.index = index;
+        this.responses = new LruCache<>(cacheSize);
+    }
+
+    public void start(int port, int threads) throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        server.createContext("/", this::handle);
+        executor = Executors.newFixedThreadPool(threads);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdown();
+    }
+
+    private void handle(HttpExchange ex) throws IOException {
+        int status = 200;
+        String body;
+        try {
+            if (!ex.getRequestMethod().equals("GET")) {
+                status = 405;
+                body = error("Only GET is supported");
+            } else {
+                String key = ex.getRequestURI().toString();
+                body = responses.get(key);
+                if (body == null) {
+                    body = answer(ex.getRequestURI().getPath(), params(ex.getRequestURI().getRawQuery()));
+                    if (body == null) {
+                        status = 404;
+                        body = error("Unknown endpoint: " + ex.getRequestURI().getPath());
+                    } else if (!ex.getRequestURI().getPath().equals("/stats")) {
+                        responses.put(key, body);
+                    }
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            status = 400;
+            body = error(e.getMessage());
+        } catch (RuntimeException e) {
+            status = 500;
+            body = error("Internal error: " + e);
+        }
+
+        try (ex) {
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            ex.getResponseHeaders().set("Content-Type", "application/json");
+            ex.sendResponseHeaders(status, bytes.length);
+            try (OutputStream os = ex.getResponseBody()) {
+                os.write(bytes);
+            }
+        }
+    }
+
+    String answer(String path, Map<String, String> q) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        switch (path) {
+            case "/component" -> {
+                int v = index.vertex(require(q, "v"));
+                int c = index.component(v);
+                out.put("vertex", q.get("v"));
+                out.put("component", index.componentLabel(c));
+                out.put("members", index.members(c));
+            }
+            case "/shortest", "/longest" -> {
+                int from = index.vertex(require(q, "from"));
+                int to = index.vertex(require(q, "to"));
+                boolean longest = path.equals("/longest");
+                out.put("from", q.get("from"));
+                out.put("to", q.get("to"));
+                out.put("distance", finite(longest ? index.longestDistance(from, to) : index.shortestDistance(from, to)));
+                out.put("path", longest ? index.longestPath(from, to) : index.shortestPath(from, to));
+            }
+            case "/critical" -> {
+                int from = index.vertex(require(q, "from"));
+                out.put("from", q.get("from"));
+                out.put("length", index.criticalLength(from));
+                out.put("path", index.criticalPath(from));
+            }
+            case "/stats" -> {
+                out.put("vertices", index.vertexCount());
+                out.put("components", index.componentCount());
+                out.put("responseCacheHits", responses.hits());
+                out.put("responseCacheMisses", responses.misses());
+                out.put("pathCacheSize", index.pathCache().size());
+            }
+            default -> {
+                return null;
+            }
+        }
+        return gson.toJson(out);
+    }
+
+    private static Double finite(double d) {
+        return Double.isInfinite(d) ? null : d;
+    }
+
+    private static String require(Map<String, String> q, String name) {
+        String v = q.get(name);
+        if (v == null) throw new IllegalArgumentException("Missing parameter: " + name);
+        return v;
+    }
+
+    private String error(String message) {
+        return gson.toJson(Map.of("error", String.valueOf(message)));
+    }
+
+    static Map<String, String> params(String rawQuery) {
+        Map<String, String> q = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) return q;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq < 0) continue;
+            q.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+        }
+        return q;
+    }
+}
@@ -0,0 +1,17 @@
+package graph.topo;
+
+import java.util.*;
+
+public class CycleException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    private final List<String> cycle;
+
+    public CycleException(List<String> cycle) {
+        super("Edge would create a cycle: " + String.join(" -> ", cycle));
+        this.cycle = cycle;
+    }
+
+    /** The cycle as a closed walk: the first and last vertex are the same. */
+    public List<String> getCycle() { return cycle; }
+}
@@ -0,0 +1,182 @@
+package graph.topo;
+
+import graph.csr.CsrGraph;
+import util.Metrics;
+
+import java.util.*;
+
+/**
+ * Topological order of a DAG maintained under edge insertions with the
+ * Pearce–Kelly algorithm. Inserting {@code x -> y} where {@code x} already
+ * precedes {@code y} is O(1). Otherwise only vertices whose position lies
+ * between {@code y} and {@code x} are searched, and those that must move are
+ * reassigned among their own positions. An insertion that would close a
+ * cycle is rejected with a {@link CycleException} and leaves the graph
+ * unchanged.
+ */
+public class DynamicTopo {
+    private final Metrics metrics;
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> labels = new ArrayList<>();
+    private int[][] out = new int[16][];
+    private int[][] in = new int[16][];
+    private int[] outDeg = new int[16];
+    private int[] inDeg = new int[16];
+    private int[] ord = new int[16];
+    private int[] at = new int[16];
+    private int[] mark = new int[16];
+    private int[] parent = new int[16];
+    private int epoch = 0;
+
+    public DynamicTopo(Metrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public DynamicTopo(Map<String, List<String>> adj, Metrics metrics) {
+        this(metrics);
+        CsrGraph g = CsrGraph.fromAdjacency(adj);
+        for (int u : new KahnTopo(metrics).sort(g)) addVertex(g.label(u));
+        for (int u = 0; u < g.vertexCount(); u++)
+            for (int e = g.begin(u); e < g.end(u); e++)
+                link(ids.get(g.label(u)), ids.get(g.label(g.target(e))));
+    }
+
+    public boolean addVertex(String label) {
+        if (ids.containsKey(label)) return false;
+        int v = labels.size();
+        if (v == ord.length) grow();
+        ids.put(label, v);
+        labels.add(label);
+        out[v] = new int[2];
+        in[v] = new int[2];
+        ord[v] = v;
+        at[v] = v;
+        return true;
+    }
+
+    public void addEdge(String from, String to) {
+        // before any mutation, so a rejected self-loop does not register a new vertex
+        if (from.equals(to)) throw new CycleException(List.of(from, to));
+        addVertex(from);
+        addVertex(to);
+        int x = ids.get(from), y = ids.get(to);
+
+        int lb = ord[y], ub = ord[x];
+        if (lb < ub) {
+            epoch++;
+            List<Integer> fwd = new ArrayList<>();
+            if (!forward(y, x, ub, fwd)) throw new CycleException(cycle(x, y));
+            List<Integer> bwd = new ArrayList<>();
+            backward(x, lb, bwd);
+            reorder(bwd, fwd);
+        }
+        link(x, y);
+    }
+
+    public List<String> order() {
+        List<String> view = new ArrayList<>(labels.size());
+        for (int i = 0; i < labels.size(); i++) view.add(labels.get(at[i]));
+        return view;
+    }
+
+    public int position(String label) {
+        Integer v = ids.get(label);
+        if (v == null) throw new IllegalArgumentException("Unknown vertex " + label);
+        return ord[v];
+    }
+
+    // marks everything reachable from start within the window; false if target is reached
+    private boolean forward(int start, int target, int ub, List<Integer> visited) {
+        Deque<Integer> stack = new ArrayDeque<>();
+        mark[start] = epoch;
+        parent[start] = -1;
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            int u = stack.pop();
+            visited.add(u);
+            metrics.orderVisits++;
+            for (int i = 0; i < outDeg[u]; i++) {
+                int w = out[u][i];
+                if (w == target) {
+                    parent[w] = u;
+                    return false;
+                }
+                if (mark[w] != epoch && ord[w] < ub) {
+                    mark[w] = epoch;
+                    parent[w] = u;
+                    stack.push(w);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void backward(int start, int lb, List<Integer> visited) {
+        Deque<Integer> stack = new ArrayDeque<>();
+        mark[start] = epoch;
+        stack.push(start);
+        while (!stack.isEmpty()) {
+            int u = stack.pop();
+            visited.add(u);
+            metrics.orderVisits++;
+            for (int i = 0; i < inDeg[u]; i++) {
+                int w = in[u][i];
+                if (mark[w] != epoch && ord[w] > lb) {
+                    mark[w] = epoch;
+                    stack.push(w);
+                }
+            }
+        }
+    }
+
+    private void reorder(List<Integer> bwd, List<Integer> fwd) {
+        Comparator<Integer> byOrd = Comparator.comparingInt(v -> ord[v]);
+        bwd.sort(byOrd);
+        fwd.sort(byOrd);
+        int[] slots = new int[bwd.size() + fwd.size()];
+        int k = 0;
+        for (int v : bwd) slots[k++] = ord[v];
+        for (int v : fwd) slots[k++] = ord[v];
+        Arrays.sort(slots);
+
+        k = 0;
+        for (int v : bwd) place(v, slots[k++]);
+        for (int v : fwd) place(v, slots[k++]);
+    }
+
+    private void place(int v, int position) {
+        if (ord[v] != position) metrics.orderShifts++;
+        ord[v] = position;
+        at[position] = v;
+    }
+
+    // the path y ~> x found by the forward search, closed by the rejected edge x -> y
+    private List<String> cycle(int x, int y) {
+        LinkedList<String> path = new LinkedList<>();
+        for (int v = x; v != -1; v = parent[v]) {
+            path.addFirst(labels.get(v));
+            if (v == y) break;
+        }
+        path.addFirst(labels.get(x));
+        return path;
+    }
+
+    private void link(int x, int y) {
+        if (outDeg[x] == out[x].length) out[x] = Arrays.copyOf(out[x], 2 * outDeg[x]);
+        out[x][outDeg[x]++] = y;
+        if (inDeg[y] == in[y].length) in[y] = Arrays.copyOf(in[y], 2 * inDeg[y]);
+        in[y][inDeg[y]++] = x;
+    }
+
+    private void grow() {
+        int cap = 2 * ord.length;
+        out = Arrays.copyOf(out, cap);
+        in = Arrays.copyOf(in, cap);
+        outDeg = Arrays.copyOf(outDeg, cap);
+        inDeg = Arrays.copyOf(inDeg, cap);
+        ord = Arrays.copyOf(ord, cap);
+        at = Arrays.copyOf(at, cap);
+        mark = Arrays.copyOf(mark, cap);
+        parent = Arrays.copyOf(parent, cap);
+    }
+}
@@ -1,6 +1,11 @@
 package graph.topo;
 
+import graph.Workspace;
+import graph.csr.CsrGraph;
+import graph.csr.IntGraph;
 import util.Metrics;
+import util.Phase;
+import util.PhaseTimer;
 import java.util.*;
 
 public class KahnTopo {
@@ -11,42 +16,50 @@ public class KahnTopo {
     }
 
     public List<String> sort(Map<String, List<String>> adj) {
-        metrics.startTimer();
+        CsrGraph g = CsrGraph.fromAdjacency(adj);
+        return g.labels(sort(g));
+    }
 
-        Map<String, Integer> indeg = new HashMap<>();
-        for (String u : adj.keySet()) indeg.putIfAbsent(u, 0);
-        for (var e : adj.entrySet()) {
-            for (String v : e.getValue()) {
-                indeg.put(v, indeg.getOrDefault(v, 0) + 1);
-            }
-        }
+    public int[] sort(IntGraph g) {
+        return sort(g, new Workspace());
+    }
+
+    /** Writes the order into {@code ws.order(n)} and returns that buffer. */
+    public int[] sort(IntGraph g, Workspace ws) {
+        PhaseTimer timer = metrics.start(Phase.TOPO);
+
+        int n = g.vertexCount(), m = g.edgeCount();
+        int[] indeg = ws.indegree(n);
+        Arrays.fill(indeg, 0, n, 0);
+        for (int e = 0; e < m; e++) indeg[g.target(e)]++;
 
-        Deque<String> q = new ArrayDeque<>();
-        for (var entry : indeg.entrySet()) {
-            if (entry.getValue() == 0) {
-                q.add(entry.getKey());
+        // the order array doubles as the FIFO queue: [head, tail) is pending
+        int[] order = ws.order(n);
+        int tail = 0;
+        for (int u = 0; u < n; u++) {
+            if (indeg[u] == 0) {
+                order[tail++] = u;
                 metrics.kahnPushes++;
             }
         }
 
-        List<String> order = new ArrayList<>();
-        while (!q.isEmpty()) {
-            String u = q.remove();
+        int head = 0;
+        while (head < tail) {
+            int u = order[head++];
             metrics.kahnPops++;
-            order.add(u);
 
-            for (String v : adj.getOrDefault(u, List.of())) {
-                indeg.put(v, indeg.get(v) - 1);
-                if (indeg.get(v) == 0) {
-                    q.add(v);
+            for (int e = g.begin(u); e < g.end(u); e++) {
+                int v = g.target(e);
+                if (--indeg[v] == 0) {
+                    order[tail++] = v;
                     metrics.kahnPushes++;
                 }
             }
         }
 
-        metrics.stopTimer();
+        timer.stop();
 
-        if (order.size() != indeg.size())
+        if (tail != n)
             throw new IllegalStateException("Not a DAG");
         return order;
     }
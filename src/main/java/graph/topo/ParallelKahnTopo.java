@@ -0,0 +1,121 @@
+package graph.topo;
+
+import graph.csr.CsrGraph;
+import graph.csr.IntGraph;
+import util.Metrics;
+import util.Phase;
+import util.PhaseTimer;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.stream.IntStream;
+
+/**
+ * Level-synchronous Kahn: every vertex of the current zero-in-degree
+ * frontier is expanded in parallel, with atomic in-degree decrements, and
+ * the vertices that reach zero form the next frontier. Frontiers smaller
+ * than {@link #PARALLEL_FRONTIER} are expanded on the calling thread.
+ */
+public class ParallelKahnTopo {
+    private static final int PARALLEL_FRONTIER = 2048;
+    private static final int CHUNK = 512;
+
+    private final Metrics metrics;
+    private final int parallelism;
+
+    public ParallelKahnTopo(Metrics metrics) {
+        this(metrics, Runtime.getRuntime().availableProcessors());
+    }
+
+    public ParallelKahnTopo(Metrics metrics, int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("parallelism must be >= 1");
+        this.metrics = metrics;
+        this.parallelism = parallelism;
+    }
+
+    public List<String> sort(Map<String, List<String>> adj) {
+        CsrGraph g = CsrGraph.fromAdjacency(adj);
+        return g.labels(sort(g).getOrder());
+    }
+
+    public TopoLevels sort(IntGraph g) {
+        PhaseTimer timer = metrics.start(Phase.TOPO);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return pool.submit(() -> levels(g)).join();
+        } finally {
+            pool.shutdown();
+            timer.stop();
+        }
+    }
+
+    private TopoLevels levels(IntGraph g) {
+        int n = g.vertexCount(), m = g.edgeCount();
+        AtomicIntegerArray indeg = new AtomicIntegerArray(n);
+        IntStream.range(0, (m + CHUNK - 1) / CHUNK).parallel().forEach(c -> {
+            for (int e = c * CHUNK, end = Math.min(m, e + CHUNK); e < end; e++)
+                indeg.incrementAndGet(g.target(e));
+        });
+
+        int[] order = new int[n];
+        int[] level = new int[n];
+        int[] offsets = new int[n + 2];
+        int[] frontier = IntStream.range(0, n).parallel().filter(v -> indeg.get(v) == 0).toArray();
+        int placed = 0, depth = 0;
+
+        while (frontier.length > 0) {
+            metrics.kahnPushes += frontier.length;
+            metrics.kahnPops += frontier.length;
+            offsets[depth] = placed;
+            System.arraycopy(frontier, 0, order, placed, frontier.length);
+            placed += frontier.length;
+            for (int v : frontier) level[v] = depth;
+            depth++;
+
+            if (frontier.length < PARALLEL_FRONTIER) {
+                frontier = expand(g, indeg, frontier, 0, frontier.length);
+            } else {
+                int[] f = frontier;
+                int chunks = (f.length + CHUNK - 1) / CHUNK;
+                int[][] parts = IntStream.range(0, chunks).parallel()
+                        .mapToObj(c -> expand(g, indeg, f, c * CHUNK, Math.min(f.length, (c + 1) * CHUNK)))
+                        .toArray(int[][]::new);
+                frontier = concat(parts);
+            }
+        }
+        offsets[depth] = placed;
+
+        if (placed != n)
+            throw new IllegalStateException("Not a DAG");
+        return new TopoLevels(order, level, Arrays.copyOf(offsets, depth + 1));
+    }
+
+    private static int[] expand(IntGraph g, AtomicIntegerArray indeg, int[] frontier, int from, int to) {
+        int[] next = new int[16];
+        int size = 0;
+        for (int i = from; i < to; i++) {
+            int u = frontier[i];
+            for (int e = g.begin(u); e < g.end(u); e++) {
+                int v = g.target(e);
+                if (indeg.decrementAndGet(v) == 0) {
+                    if (size == next.length) next = Arrays.copyOf(next, 2 * size);
+                    next[size++] = v;
+                }
+            }
+        }
+        return Arrays.copyOf(next, size);
+    }
+
+    private static int[] concat(int[][] parts) {
+        int total = 0;
+        for (int[] p : parts) total += p.length;
+        int[] out = new int[total];
+        int k = 0;
+        for (int[] p : parts) {
+            System.arraycopy(p, 0, out, k, p.length);
+            k += p.length;
+        }
+        return out;
+    }
+}
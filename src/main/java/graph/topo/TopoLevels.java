@@ -0,0 +1,24 @@
+package graph.topo;
+
+/**
+ * A topological order grouped into levels: level 0 holds the sources, and a
+ * vertex on level {@code k} has a longest incoming path of exactly {@code k}
+ * edges. Level {@code k} occupies {@code order[levelStart(k) .. levelEnd(k))}.
+ */
+public class TopoLevels {
+    private final int[] order;
+    private final int[] level;
+    private final int[] levelOffsets;
+
+    public TopoLevels(int[] order, int[] level, int[] levelOffsets) {
+        this.order = order;
+        this.level = level;
+        this.levelOffsets = levelOffsets;
+    }
+
+    public int[] getOrder() { return order; }
+    public int[] getLevel() { return level; }
+    public int getLevelCount() { return levelOffsets.length - 1; }
+    public int levelStart(int k) { return levelOffsets[k]; }
+    public int levelEnd(int k) { return levelOffsets[k + 1]; }
+}
@@ -0,0 +1,42 @@
+package util;
+
+import java.util.*;
+
+/**
+ * Collects per-phase nanosecond samples across repeated runs and reports
+ * nearest-rank percentiles.
+ */
+public class LatencyRecorder {
+    private final Map<Phase, long[]> samples = new EnumMap<>(Phase.class);
+    private final Map<Phase, Integer> counts = new EnumMap<>(Phase.class);
+
+    public void record(Metrics m) {
+        for (Phase p : Phase.values())
+            if (m.phaseCount(p) > 0) record(p, m.phaseNs(p));
+    }
+
+    public void record(Phase phase, long ns) {
+        long[] s = samples.computeIfAbsent(phase, p -> new long[8]);
+        int n = counts.getOrDefault(phase, 0);
+        if (n == s.length) samples.put(phase, s = Arrays.copyOf(s, 2 * n));
+        s[n] = ns;
+        counts.put(phase, n + 1);
+    }
+
+    public int count(Phase phase) {
+        return counts.getOrDefault(phase, 0);
+    }
+
+    public long percentileNs(Phase phase, double p) {
+        int n = count(phase);
+        if (n == 0) return 0;
+        long[] sorted = Arrays.copyOf(samples.get(phase), n);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(p / 100.0 * n);
+        return sorted[Math.max(0, Math.min(n - 1, rank - 1))];
+    }
+
+    public long p50Ns(Phase phase) { return percentileNs(phase, 50); }
+    public long p99Ns(Phase phase) { return percentileNs(phase, 99); }
+    public long maxNs(Phase phase) { return percentileNs(phase, 100); }
+}
@@ -0,0 +1,58 @@
+package util;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Bounded map that evicts the least recently used entry. All operations are
+ * synchronised; {@link #computeIfAbsent} runs the loader outside the lock, so a
+ * slow miss does not block hits on other keys.
+ */
+public class LruCache<K, V> {
+    private final int capacity;
+    private final LinkedHashMap<K, V> map;
+    private long hits, misses;
+
+    public LruCache(int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException("capacity must be positive");
+        this.capacity = capacity;
+        this.map = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+                return size() > LruCache.this.capacity;
+            }
+        };
+    }
+
+    public synchronized V get(K key) {
+        V v = map.get(key);
+        if (v != null) hits++;
+        else misses++;
+        return v;
+    }
+
+    public synchronized void put(K key, V value) {
+        map.put(key, value);
+    }
+
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> loader) {
+        V v = get(key);
+        if (v != null) return v;
+        v = loader.apply(key);
+        if (v != null) put(key, v);
+        return v;
+    }
+
+    public synchronized V remove(K key) {
+        return map.remove(key);
+    }
+
+    public synchronized void clear() {
+        map.clear();
+    }
+
+    public synchronized int size() { return map.size(); }
+    public int capacity() { return capacity; }
+    public synchronized long hits() { return hits; }
+    public synchronized long misses() { return misses; }
+}
@@ -2,6 +2,9 @@ package util;
 
 public class Metrics {
     private long startNs, endNs;
+    private final String dataset;
+    private final long[] phaseNs = new long[Phase.values().length];
+    private final int[] phaseCount = new int[Phase.values().length];
 
     // SCC
     public long dfsVisits = 0;
@@ -14,15 +17,51 @@ public class Metrics {
     // dagsp
     public long relaxations = 0;
 
+    // schedule sweeps, kept apart so relaxations counts path kernels only
+    public long scheduleEdges = 0;
+
+    // dynamic topo
+    public long orderVisits = 0;
+    public long orderShifts = 0;
+
+    public Metrics() {
+        this(null);
+    }
+
+    public Metrics(String dataset) {
+        this.dataset = dataset;
+    }
+
+    public String getDataset() { return dataset; }
+
+    // whole-run timer; algorithms time themselves with start(Phase) instead
     public void startTimer() { startNs = System.nanoTime(); }
     public void stopTimer() { endNs = System.nanoTime(); }
-    public long elapsedMs() { return (endNs - startNs) / 1_000_000; }
+    public long elapsedNs() { return endNs - startNs; }
+    public long elapsedMs() { return elapsedNs() / 1_000_000; }
+
+    public PhaseTimer start(Phase phase) {
+        return new PhaseTimer(this, phase);
+    }
+
+    void addPhaseNs(Phase phase, long ns) {
+        phaseNs[phase.ordinal()] += ns;
+        phaseCount[phase.ordinal()]++;
+    }
+
+    public long phaseNs(Phase phase) { return phaseNs[phase.ordinal()]; }
+    public int phaseCount(Phase phase) { return phaseCount[phase.ordinal()]; }
 
     @Override
     public String toString() {
+        StringBuilder phases = new StringBuilder();
+        for (Phase p : Phase.values()) {
+            if (phaseCount(p) == 0) continue;
+            phases.append(String.format(" | %s=%.3fms", p, phaseNs(p) / 1e6));
+        }
         return String.format(
-                "Time=%dms | DFS=%d/%d | Kahn Push/Pops=%d/%d | Relax=%d",
-                elapsedMs(), dfsVisits, dfsEdges, kahnPushes, kahnPops, relaxations
-        );
+                "Time=%.3fms | DFS=%d/%d | Kahn Push/Pops=%d/%d | Relax=%d",
+                elapsedNs() / 1e6, dfsVisits, dfsEdges, kahnPushes, kahnPops, relaxations
+        ) + phases;
     }
 }
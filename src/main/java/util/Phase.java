@@ -0,0 +1,8 @@
+package util;
+
+public enum Phase {
+    LOAD, SCC, CONDENSATION, TOPO, SHORTEST_PATH, LONGEST_PATH,
+    /** Fused shortest and longest sweep, which cannot be split between the two phases above. */
+    PATHS,
+    SCHEDULE
+}
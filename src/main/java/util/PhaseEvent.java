@@ -0,0 +1,16 @@
+package util;
+
+import jdk.jfr.*;
+
+@Name("graph.Phase")
+@Label("Analysis Phase")
+@Category("Graph Analysis")
+@Description("One timed phase of a graph analysis run")
+@StackTrace(false)
+class PhaseEvent extends Event {
+    @Label("Phase")
+    String phase;
+
+    @Label("Dataset")
+    String dataset;
+}
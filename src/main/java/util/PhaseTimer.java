@@ -0,0 +1,47 @@
+package util;
+
+/**
+ * Times one phase on behalf of a {@link Metrics} instance and, when JFR is
+ * recording, emits a {@code graph.Phase} event covering the same interval.
+ */
+public final class PhaseTimer implements AutoCloseable {
+    private final Metrics metrics;
+    private final Phase phase;
+    private final PhaseEvent event;
+    private final long startNs;
+    private boolean stopped;
+
+    PhaseTimer(Metrics metrics, Phase phase) {
+        this.metrics = metrics;
+        this.phase = phase;
+        PhaseEvent e = new PhaseEvent();
+        if (e.isEnabled()) {
+            e.begin();
+            this.event = e;
+        } else {
+            this.event = null;
+        }
+        this.startNs = System.nanoTime();
+    }
+
+    public long stop() {
+        long ns = System.nanoTime() - startNs;
+        if (stopped) return ns;
+        stopped = true;
+        metrics.addPhaseNs(phase, ns);
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = phase.name();
+                event.dataset = metrics.getDataset();
+                event.commit();
+            }
+        }
+        return ns;
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+}
@@ -0,0 +1,70 @@
+package util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.Locale;
+
+/**
+ * Appends dataset rows to {@code results.csv}, {@code phases.csv} and
+ * {@code latency.csv} in one directory. Each file is opened once, buffered,
+ * and given its header on creation; writes are serialised so concurrent
+ * workers can share one instance.
+ */
+public class ResultsWriter implements Closeable {
+    public static final String RESULTS_HEADER = "dataset,totalTimeMs,elapsedMs,dfsVisits,dfsEdges,kahnPushes,kahnPops,relaxations";
+    public static final String PHASES_HEADER = "dataset,phase,count,ns";
+    public static final String LATENCY_HEADER = "dataset,phase,runs,p50Ns,p99Ns,maxNs";
+
+    private final Path dir;
+    private final Writer results;
+    private final Writer phases;
+    private Writer latency;
+
+    public ResultsWriter(Path dir) throws IOException {
+        this.dir = dir;
+        Files.createDirectories(dir);
+        this.results = open(dir.resolve("results.csv"), RESULTS_HEADER);
+        this.phases = open(dir.resolve("phases.csv"), PHASES_HEADER);
+    }
+
+    private static Writer open(Path file, String header) throws IOException {
+        boolean fresh = !Files.exists(file);
+        Writer w = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        if (fresh) w.write(header + "\n");
+        return w;
+    }
+
+    public synchronized void writeRun(String dataset, double totalMs, Metrics m) throws IOException {
+        results.write(String.format(Locale.US, "%s,%.3f,%d,%d,%d,%d,%d,%d%n",
+                dataset, totalMs, m.elapsedMs(), m.dfsVisits, m.dfsEdges,
+                m.kahnPushes, m.kahnPops, m.relaxations));
+        for (Phase p : Phase.values())
+            if (m.phaseCount(p) > 0)
+                phases.write(String.format(Locale.US, "%s,%s,%d,%d%n", dataset, p, m.phaseCount(p), m.phaseNs(p)));
+    }
+
+    public synchronized void writeLatency(String dataset, LatencyRecorder rec) throws IOException {
+        if (latency == null) latency = open(dir.resolve("latency.csv"), LATENCY_HEADER);
+        for (Phase p : Phase.values()) {
+            int runs = rec.count(p);
+            if (runs == 0) continue;
+            latency.write(String.format(Locale.US, "%s,%s,%d,%d,%d,%d%n", dataset, p, runs,
+                    rec.p50Ns(p), rec.p99Ns(p), rec.maxNs(p)));
+        }
+    }
+
+    public synchronized void flush() throws IOException {
+        results.flush();
+        phases.flush();
+        if (latency != null) latency.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        try (results; phases) {
+            if (latency != null) latency.close();
+        }
+    }
+}
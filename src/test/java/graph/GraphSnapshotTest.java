@@ -0,0 +1,65 @@
+package graph;
+
+import graph.csr.CsrGraph;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphSnapshotTest {
+
+    @Test
+    public void testViewsAreCachedAndImmutable() {
+        List<String> nodes = new ArrayList<>(List.of("A", "B", "C"));
+        List<Edge> edges = new ArrayList<>(List.of(new Edge("A", "B", 2), new Edge("B", "C", 3)));
+        GraphSnapshot s = new Graph(1, nodes, edges, false, "A").snapshot();
+
+        assertSame(s.getAdjacencyList(), s.getAdjacencyList());
+        assertSame(s.getAdjacencySimple(), s.getAdjacencySimple());
+        assertSame(s.csr(), s.csr());
+        assertSame(s.transpose(), s.transpose());
+        assertThrows(UnsupportedOperationException.class, () -> s.getAdjacencyList().get("A").clear());
+        assertThrows(UnsupportedOperationException.class, () -> s.getAdjacencySimple().put("D", List.of()));
+
+        edges.add(new Edge("C", "A", 1));
+        assertEquals(2, s.getEdges().size(), "Snapshot is detached from the source lists");
+    }
+
+    @Test
+    public void testMatchesGraphViews() {
+        List<String> nodes = List.of("A", "B", "C");
+        List<Edge> edges = List.of(new Edge("A", "B", 2), new Edge("B", "C", 3), new Edge("A", "C", 7));
+        Graph g = new Graph(1, nodes, edges, false, "A");
+        GraphSnapshot s = g.snapshot();
+
+        assertEquals(g.getAdjacencySimple(), s.getAdjacencySimple());
+        assertEquals(g.getAdjacencyList().get("C").size(), s.getAdjacencyList().get("C").size());
+        assertEquals(2, s.getInAdjacency().get("A").size());
+        assertEquals(2, s.outDegree("B"));
+        assertEquals(2, s.inDegree("C"));
+
+        CsrGraph csr = CsrGraph.fromGraph(g);
+        assertEquals(csr.edgeCount(), s.csr().edgeCount());
+    }
+
+    @Test
+    public void testConcurrentReadersSeeOneConsistentView() throws Exception {
+        List<String> nodes = new ArrayList<>();
+        List<Edge> edges = new ArrayList<>();
+        for (int i = 0; i < 500; i++) nodes.add("v" + i);
+        for (int i = 1; i < 500; i++) edges.add(new Edge("v" + (i - 1), "v" + i, i));
+        GraphSnapshot s = new Graph(1, nodes, edges, true, "v0").snapshot();
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> sizes = new ArrayList<>();
+            for (int t = 0; t < 8; t++)
+                sizes.add(pool.submit(() -> s.getInAdjacency().get("v499").size() + s.transpose().edgeCount()));
+            for (Future<Integer> f : sizes) assertEquals(1 + 499, f.get());
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
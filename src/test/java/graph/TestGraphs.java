@@ -0,0 +1,39 @@
+package graph;
+
+import graph.analysis.AnalysisResult;
+import graph.analysis.GraphAnalysis;
+import graph.io.JsonGraphLoader;
+import graph.io.LoadedGraph;
+import util.Metrics;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.*;
+
+/** Small graph fixtures shared by the analysis, report and server tests. */
+public final class TestGraphs {
+    /**
+     * 0 &lt;-&gt; 1 form one component, then 1 -&gt; 2 (w 4), 2 -&gt; 3 (w 1) and
+     * 0 -&gt; 3 (w 9); 4 is isolated. Components in topological order are
+     * C0 = {4}, C1 = {0, 1}, C2 = {2}, C3 = {3}, and the source is 0.
+     */
+    public static final String SMALL = "{\"directed\": true, \"n\": 5, \"edges\": ["
+            + "{\"u\": 0, \"v\": 1, \"w\": 2}, {\"u\": 1, \"v\": 0, \"w\": 1},"
+            + "{\"u\": 1, \"v\": 2, \"w\": 4}, {\"u\": 2, \"v\": 3, \"w\": 1},"
+            + "{\"u\": 0, \"v\": 3, \"w\": 9}], \"source\": 0}";
+
+    private TestGraphs() { }
+
+    public static LoadedGraph small() throws IOException {
+        return new JsonGraphLoader().read(new StringReader(SMALL));
+    }
+
+    public static AnalysisResult analyseSmall(Metrics m) throws IOException {
+        return new GraphAnalysis(m).analyse(small());
+    }
+
+    /** Writes {@link #SMALL} to {@code g.json} in {@code dir}. */
+    public static Path writeSmall(Path dir) throws IOException {
+        return Files.writeString(dir.resolve("g.json"), SMALL);
+    }
+}
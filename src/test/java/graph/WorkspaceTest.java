@@ -0,0 +1,71 @@
+package graph;
+
+import graph.csr.CsrGraph;
+import graph.dagsp.DAGShortestPath;
+import graph.scc.KosarajuSCC;
+import graph.topo.KahnTopo;
+import org.junit.jupiter.api.Test;
+import util.Metrics;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkspaceTest {
+
+    @Test
+    public void testReusedWorkspaceMatchesFreshRuns() {
+        Random rnd = new Random(17);
+        Workspace ws = new Workspace();
+        Metrics m = new Metrics();
+        // shrinking and growing sizes exercise stale tails in the buffers
+        for (int n : new int[]{200, 50, 300, 120, 300}) {
+            CsrGraph g = random(rnd, n, 3 * n, false);
+            int count = new KosarajuSCC(m).compute(g, ws);
+            assertEquals(new KosarajuSCC(m).compute(g).getCount(), count);
+            assertArrayEquals(new KosarajuSCC(m).compute(g).getCompOf(), Arrays.copyOf(ws.compOf(n), n));
+
+            CsrGraph dag = random(rnd, n, 3 * n, true);
+            int[] order = new KahnTopo(m).sort(dag, ws);
+            assertArrayEquals(new KahnTopo(m).sort(dag), Arrays.copyOf(order, n));
+
+            DAGShortestPath dsp = new DAGShortestPath(m);
+            int[] parent = new int[n];
+            double[] expected = dsp.longestPath(dag, 0, parent);
+            double[] dist = dsp.longestPath(dag, 0, ws);
+            assertArrayEquals(expected, Arrays.copyOf(dist, n));
+            assertArrayEquals(parent, Arrays.copyOf(ws.parent(n), n));
+        }
+    }
+
+    @Test
+    public void testBuffersAreReusedOnceLargeEnough() {
+        Workspace ws = new Workspace();
+        int[] order = ws.order(100);
+        double[] dist = ws.dist(100);
+        long bytes = ws.capacityBytes();
+
+        assertSame(order, ws.order(60));
+        assertSame(dist, ws.dist(100));
+        assertEquals(bytes, ws.capacityBytes());
+        assertTrue(ws.order(101).length >= 150, "Growth is geometric");
+
+        long[] bits = ws.visited(130);
+        bits[2] = -1;
+        assertSame(bits, ws.visited(130));
+        assertEquals(0, bits[2], "Visited bits are cleared on reuse");
+    }
+
+    private static CsrGraph random(Random rnd, int n, int m, boolean acyclic) {
+        int[] from = new int[m], to = new int[m];
+        double[] w = new double[m];
+        for (int i = 0; i < m; i++) {
+            int a = rnd.nextInt(n), b = rnd.nextInt(n);
+            if (acyclic && a == b) b = (b + 1) % n;
+            from[i] = acyclic ? Math.min(a, b) : a;
+            to[i] = acyclic ? Math.max(a, b) : b;
+            w[i] = 1 + rnd.nextInt(10);
+        }
+        return CsrGraph.fromEdges(n, m, from, to, w, null);
+    }
+}
@@ -0,0 +1,100 @@
+package graph.analysis;
+
+import graph.TestGraphs;
+import graph.io.JsonGraphLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.Metrics;
+
+import java.io.IOException;
+import java.nio.file.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultCacheTest {
+    @Test
+    public void testRoundTrip(@TempDir Path dir) throws IOException {
+        Path graph = TestGraphs.writeSmall(dir);
+        ResultCache cache = new ResultCache(dir.resolve("cache"), 1 << 20);
+        AnalysisResult r = new GraphAnalysis(new Metrics()).analyse(JsonGraphLoader.load(graph));
+
+        String key = cache.key(graph, GraphAnalysis.PARAMS);
+        assertNull(cache.get(key));
+        cache.put(key, r);
+        AnalysisResult hit = cache.get(key);
+
+        assertNotNull(hit);
+        assertArrayEquals(r.getComponents().getCompOf(), hit.getComponents().getCompOf());
+        assertArrayEquals(r.getOrder(), hit.getOrder());
+        assertArrayEquals(r.getPaths().getShortest(), hit.getPaths().getShortest());
+        assertArrayEquals(r.getPaths().getLongestParent(), hit.getPaths().getLongestParent());
+        assertArrayEquals(r.getCriticalPath(), hit.getCriticalPath());
+        assertArrayEquals(r.getSchedule().getLatest(), hit.getSchedule().getLatest());
+        assertEquals(r.getShortestDag().edgeCount(), hit.getShortestDag().edgeCount());
+        assertEquals(r.getLongestDag().weight(0), hit.getLongestDag().weight(0));
+        assertNotNull(r.getShortestDag().intWeights());
+        assertArrayEquals(r.getShortestDag().intWeights(), hit.getShortestDag().intWeights(), "Int weights survive");
+        assertArrayEquals(r.getLongestDag().intWeights(), hit.getLongestDag().intWeights());
+        assertEquals("C1", hit.getShortestDag().label(1));
+    }
+
+    @Test
+    public void testKeyFollowsContentAndParams(@TempDir Path dir) throws IOException {
+        Path graph = TestGraphs.writeSmall(dir);
+        ResultCache cache = new ResultCache(dir.resolve("cache"), 1 << 20);
+
+        String key = cache.key(graph, GraphAnalysis.PARAMS);
+        assertEquals(key, cache.key(graph, GraphAnalysis.PARAMS));
+        assertNotEquals(key, cache.key(graph, "other"));
+        Files.writeString(graph, TestGraphs.SMALL.replace("\"w\": 9", "\"w\": 8"));
+        assertNotEquals(key, cache.key(graph, GraphAnalysis.PARAMS));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedAndInvalidates(@TempDir Path dir) throws IOException {
+        AnalysisResult r = TestGraphs.analyseSmall(new Metrics());
+
+        ResultCache probe = new ResultCache(dir.resolve("probe"), 1 << 20);
+        probe.put("x", r);
+        long entry = probe.sizeBytes();
+
+        ResultCache cache = new ResultCache(dir.resolve("cache"), 2 * entry);
+        cache.put("a", r);
+        cache.put("b", r);
+        assertNotNull(cache.get("a"));
+        cache.put("c", r);
+
+        assertNotNull(cache.get("a"), "Recently read entry survives");
+        assertNull(cache.get("b"), "Least recently used entry is evicted");
+        assertTrue(cache.sizeBytes() <= 2 * entry);
+
+        assertTrue(cache.invalidate("a"));
+        assertNull(cache.get("a"));
+        cache.clear();
+        assertEquals(0, cache.sizeBytes());
+    }
+
+    @Test
+    public void testReopenedCacheKeepsRecencyOrder(@TempDir Path dir) throws IOException {
+        AnalysisResult r = TestGraphs.analyseSmall(new Metrics());
+        ResultCache first = new ResultCache(dir, 1 << 20);
+        first.put("a", r);
+        first.put("b", r);
+        assertNotNull(first.get("a"));
+        long entry = first.sizeBytes() / 2;
+
+        ResultCache reopened = new ResultCache(dir, 2 * entry);
+        assertEquals(2 * entry, reopened.sizeBytes(), "Existing entries are indexed on open");
+        reopened.put("c", r);
+        assertNull(reopened.get("b"), "The oldest use on disk is evicted first");
+        assertNotNull(reopened.get("a"));
+    }
+
+    @Test
+    public void testCorruptEntryIsDropped(@TempDir Path dir) throws IOException {
+        ResultCache cache = new ResultCache(dir, 1 << 20);
+        Files.write(dir.resolve("bad" + ResultCache.EXTENSION), new byte[]{1, 2, 3});
+        assertNull(cache.get("bad"));
+        assertFalse(Files.exists(dir.resolve("bad" + ResultCache.EXTENSION)));
+    }
+}
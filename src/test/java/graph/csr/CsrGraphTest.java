@@ -0,0 +1,81 @@
+package graph.csr;
+
+import graph.Edge;
+import graph.Graph;
+import graph.dagsp.DAGShortestPath;
+import graph.scc.Components;
+import graph.scc.KosarajuSCC;
+import graph.topo.KahnTopo;
+import org.junit.jupiter.api.Test;
+import util.Metrics;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CsrGraphTest {
+
+    @Test
+    public void testBuildFromGraph() {
+        List<String> nodes = List.of("A", "B", "C");
+        List<Edge> edges = List.of(
+                new Edge("A", "B", 2),
+                new Edge("A", "C", 3),
+                new Edge("B", "C", 4)
+        );
+
+        CsrGraph g = CsrGraph.fromGraph(new Graph(1, nodes, edges, true, "A"));
+
+        assertEquals(3, g.vertexCount());
+        assertEquals(3, g.edgeCount());
+        assertEquals(2, g.outDegree(g.id("A")));
+        assertEquals(0, g.outDegree(g.id("C")));
+        assertEquals("B", g.label(1));
+        assertEquals(-1, g.id("Z"));
+        assertArrayEquals(new int[]{0, 1, 2}, g.inDegrees());
+    }
+
+    @Test
+    public void testUndirectedGraphAddsReverseEdges() {
+        List<String> nodes = List.of("A", "B");
+        List<Edge> edges = List.of(new Edge("A", "B", 5));
+
+        CsrGraph g = CsrGraph.fromGraph(new Graph(2, nodes, edges));
+
+        assertEquals(2, g.edgeCount());
+        assertEquals(g.id("A"), g.target(g.begin(g.id("B"))));
+        assertEquals(5.0, g.weight(g.begin(g.id("B"))));
+    }
+
+    @Test
+    public void testTranspose() {
+        CsrGraph g = CsrGraph.fromEdges(3, 2, new int[]{0, 0}, new int[]{1, 2}, new double[]{7, 9}, null);
+        CsrGraph rev = g.transpose();
+
+        assertEquals(0, rev.outDegree(0));
+        assertEquals(0, rev.target(rev.begin(2)));
+        assertEquals(9.0, rev.weight(rev.begin(2)));
+    }
+
+    @Test
+    public void testCsrAlgorithms() {
+        // 0 <-> 1 -> 2 -> 3
+        CsrGraph g = CsrGraph.fromEdges(4, 4,
+                new int[]{0, 1, 1, 2}, new int[]{1, 0, 2, 3}, new double[]{1, 1, 2, 3}, null);
+
+        Components comps = new KosarajuSCC(new Metrics()).compute(g);
+        assertEquals(3, comps.getCount());
+        assertEquals(comps.componentOf(0), comps.componentOf(1));
+
+        CsrGraph dag = CsrGraph.fromEdges(4, 3,
+                new int[]{0, 1, 2}, new int[]{1, 2, 3}, new double[]{1, 2, 3}, null);
+        assertArrayEquals(new int[]{0, 1, 2, 3}, new KahnTopo(new Metrics()).sort(dag));
+
+        DAGShortestPath sp = new DAGShortestPath(new Metrics());
+        int[] parent = new int[4];
+        double[] dist = sp.shortestPath(dag, 1, parent);
+        assertEquals(Double.POSITIVE_INFINITY, dist[0]);
+        assertEquals(5.0, dist[3]);
+        assertArrayEquals(new int[]{1, 2, 3}, sp.reconstructPath(parent, 3));
+    }
+}
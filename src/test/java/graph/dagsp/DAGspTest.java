@@ -2,8 +2,10 @@ package graph.dagsp;
 
 import graph.Edge;
 import graph.Graph;
+import graph.csr.CsrGraph;
 import org.junit.jupiter.api.Test;
 import util.Metrics;
+import util.Phase;
 
 import java.util.*;
 
@@ -57,6 +59,16 @@ public class DAGspTest {
         assertEquals(Double.POSITIVE_INFINITY, dist.get("C"), "Unreachable node should remain INF");
     }
 
+    @Test
+    public void testUnknownSourceIsRejected() {
+        Graph g = new Graph(2, List.of("A", "B"), List.of(new Edge("A", "B", 1)), true, "A");
+        DAGShortestPath sp = new DAGShortestPath(new Metrics());
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> sp.longestPath(g.getAdjacencyList(), "Z", new HashMap<>()));
+        assertEquals("Unknown vertex Z", e.getMessage());
+    }
+
     @Test
     public void testSingleNodeGraph() {
         List<String> nodes = List.of("X");
@@ -88,4 +100,114 @@ public class DAGspTest {
         assertEquals(-2.0, dist.get("B"));
         assertEquals(1.0, dist.get("C"));
     }
+
+    @Test
+    public void testMultiSourceMatchesSingleSource() {
+        Random rnd = new Random(9);
+        int n = 300, m = 1500;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        double[] w = new double[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = rnd.nextInt(n - 1);
+            to[i] = from[i] + 1 + rnd.nextInt(n - 1 - from[i]);
+            w[i] = 1 + rnd.nextInt(10);
+        }
+        CsrGraph g = CsrGraph.fromEdges(n, m, from, to, w, null);
+        int[] sources = {0, 7, 150, 299};
+
+        DAGShortestPath sp = new DAGShortestPath(new Metrics());
+        MultiSourcePaths shortest = sp.shortestPaths(g, sources);
+        MultiSourcePaths longest = sp.longestPaths(g, sources);
+
+        for (int s = 0; s < sources.length; s++) {
+            int[] parent = new int[n];
+            assertArrayEquals(sp.shortestPath(g, sources[s], parent), shortest.distances(s));
+            assertArrayEquals(sp.longestPath(g, sources[s], parent), longest.distances(s));
+            assertArrayEquals(parent, longest.parents(s));
+        }
+        assertEquals(Double.POSITIVE_INFINITY, shortest.distance(3, 0));
+    }
+
+    @Test
+    public void testFusedPathsMatchSeparateRuns() {
+        // 0 -> 1 -> 3, 0 -> 2 -> 3, 0 -> 3
+        CsrGraph g = CsrGraph.fromEdges(5, 5,
+                new int[]{0, 0, 0, 1, 2}, new int[]{1, 2, 3, 3, 3}, new double[]{1, 4, 9, 1, 1}, null);
+        Metrics m = new Metrics();
+        DAGShortestPath sp = new DAGShortestPath(m);
+
+        DagPaths fused = sp.paths(g, 0);
+        assertEquals(1, m.phaseCount(Phase.PATHS), "The fused sweep has its own phase");
+        assertEquals(0, m.phaseCount(Phase.SHORTEST_PATH));
+        int[] parent = new int[5];
+        assertArrayEquals(sp.shortestPath(g, 0, parent), fused.getShortest());
+        assertArrayEquals(parent, fused.getShortestParent());
+        assertArrayEquals(sp.longestPath(g, 0, parent), fused.getLongest());
+        assertArrayEquals(parent, fused.getLongestParent());
+
+        assertEquals(3, fused.getCriticalEnd());
+        assertEquals(Double.NEGATIVE_INFINITY, fused.getLongest()[4]);
+        assertEquals(5, m.kahnPops, "The topological order is computed once per graph");
+    }
+
+    @Test
+    public void testIntegerKernelsMatchDoubleKernels() {
+        Random rnd = new Random(25);
+        int n = 400, m = 2000;
+        int[] from = new int[m], to = new int[m], iw = new int[m];
+        double[] dw = new double[m];
+        for (int i = 0; i < m; i++) {
+            int a = rnd.nextInt(n), b = rnd.nextInt(n - 1);
+            if (b >= a) b++;
+            from[i] = Math.min(a, b);
+            to[i] = Math.max(a, b);
+            iw[i] = rnd.nextInt(21) - 5;
+            dw[i] = iw[i];
+        }
+        CsrGraph ig = CsrGraph.fromIntEdges(n, m, from, to, iw, null);
+        CsrGraph dg = CsrGraph.fromEdges(n, m, from, to, dw, null);
+        DAGShortestPath sp = new DAGShortestPath(new Metrics());
+
+        DagPaths exact = sp.paths(ig, 3), plain = sp.paths(dg, 3);
+        assertArrayEquals(plain.getShortest(), exact.getShortest());
+        assertArrayEquals(plain.getLongest(), exact.getLongest());
+        assertArrayEquals(plain.getShortestParent(), exact.getShortestParent());
+        assertArrayEquals(plain.getLongestParent(), exact.getLongestParent());
+
+        int[] parent = new int[n];
+        long[] longest = sp.exactLongestPath(ig, 3, parent);
+        assertArrayEquals(plain.getLongestParent(), parent);
+        for (int v = 0; v < n; v++) {
+            if (v < 3) assertEquals(DAGShortestPath.UNREACHED_LONGEST, longest[v]);
+            else if (longest[v] != DAGShortestPath.UNREACHED_LONGEST) assertEquals(plain.getLongest()[v], longest[v]);
+        }
+        assertThrows(IllegalArgumentException.class, () -> sp.exactShortestPath(dg, 0, parent));
+    }
+
+    @Test
+    public void testIntegerDistancesStayExact() {
+        // a long chain of 2^30 weights sums past int range without overflow or rounding
+        int k = 4097;
+        int[] from = new int[k], to = new int[k], w = new int[k];
+        for (int i = 0; i < k; i++) {
+            from[i] = i;
+            to[i] = i + 1;
+            w[i] = 1 << 30;
+        }
+        w[k - 1] = 1;
+        long[] dist = new DAGShortestPath(new Metrics())
+                .exactShortestPath(CsrGraph.fromIntEdges(k + 1, k, from, to, w, null), 0, new int[k + 1]);
+        assertEquals((1L << 42) + 1, dist[k]);
+    }
+
+    @Test
+    public void testMultiSourceRejectsOversizedTables() {
+        int n = 1 << 16;
+        CsrGraph g = CsrGraph.fromEdges(n, 0, new int[0], new int[0], new double[0], null);
+        int[] sources = new int[1 << 15];
+        DAGShortestPath sp = new DAGShortestPath(new Metrics());
+
+        assertThrows(IllegalArgumentException.class, () -> sp.shortestPaths(g, new int[n], sources));
+    }
 }
@@ -0,0 +1,82 @@
+package graph.dagsp;
+
+import graph.csr.CsrGraph;
+import org.junit.jupiter.api.Test;
+import util.Metrics;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelDagPathsTest {
+
+    @Test
+    public void testMatchesSequentialIncludingTies() {
+        Random rnd = new Random(21);
+        for (int trial = 0; trial < 30; trial++) {
+            int n = 10 + rnd.nextInt(200), m = 3 * n;
+            // small integer weights make equal-length alternatives common
+            CsrGraph g = randomDag(rnd, n, m, 3);
+            assertSameAsSequential(g, rnd.nextInt(n), 1 + rnd.nextInt(4));
+        }
+    }
+
+    @Test
+    public void testWideLevelsRunInParallel() {
+        Random rnd = new Random(4);
+        // 8 layers of 5000 vertices, edges only between consecutive layers
+        int width = 5000, layers = 8, n = width * layers, m = 4 * n;
+        int[] from = new int[m], to = new int[m];
+        double[] w = new double[m];
+        for (int i = 0; i < m; i++) {
+            int layer = rnd.nextInt(layers - 1);
+            from[i] = layer * width + rnd.nextInt(width);
+            to[i] = (layer + 1) * width + rnd.nextInt(width);
+            w[i] = rnd.nextInt(5);
+        }
+        from[0] = 0;
+        CsrGraph g = CsrGraph.fromEdges(n, m, from, to, w, null);
+        assertSameAsSequential(g, 0, 4);
+    }
+
+    @Test
+    public void testSeparateWeightGraphs() {
+        int[] from = {0, 0, 1, 2}, to = {1, 2, 3, 3};
+        CsrGraph shortest = CsrGraph.fromEdges(4, 4, from, to, new double[]{1, 2, 5, 1}, null);
+        CsrGraph longest = CsrGraph.fromEdges(4, 4, from, to, new double[]{4, 2, 5, 9}, null);
+        int[] order = {0, 1, 2, 3};
+
+        DagPaths p = new ParallelDagPaths(new Metrics(), 2).paths(shortest, longest, order, 0);
+        assertEquals(3.0, p.getShortest()[3]);
+        assertEquals(2, p.getShortestParent()[3]);
+        assertEquals(11.0, p.getLongest()[3]);
+        assertEquals(2, p.getLongestParent()[3]);
+    }
+
+    private static void assertSameAsSequential(CsrGraph g, int src, int parallelism) {
+        Metrics sm = new Metrics(), pm = new Metrics();
+        DAGShortestPath dsp = new DAGShortestPath(sm);
+        int[] order = dsp.topologicalOrder(g);
+        DagPaths seq = dsp.paths(g, order, src);
+        DagPaths par = new ParallelDagPaths(pm, parallelism).paths(g, order, src);
+
+        assertArrayEquals(seq.getShortest(), par.getShortest());
+        assertArrayEquals(seq.getShortestParent(), par.getShortestParent());
+        assertArrayEquals(seq.getLongest(), par.getLongest());
+        assertArrayEquals(seq.getLongestParent(), par.getLongestParent());
+        assertEquals(sm.relaxations, pm.relaxations);
+    }
+
+    private static CsrGraph randomDag(Random rnd, int n, int m, int maxWeight) {
+        int[] from = new int[m], to = new int[m];
+        double[] w = new double[m];
+        for (int i = 0; i < m; i++) {
+            int a = rnd.nextInt(n), b = rnd.nextInt(n);
+            if (a == b) b = (b + 1) % n;
+            from[i] = Math.min(a, b);
+            to[i] = Math.max(a, b);
+            w[i] = rnd.nextInt(maxWeight + 1);
+        }
+        return CsrGraph.fromEdges(n, m, from, to, w, null);
+    }
+}
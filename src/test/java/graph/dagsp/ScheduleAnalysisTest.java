@@ -0,0 +1,92 @@
+package graph.dagsp;
+
+import graph.csr.CsrGraph;
+import graph.csr.IntGraph;
+import graph.io.JsonGraphLoader;
+import org.junit.jupiter.api.Test;
+import util.Metrics;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ScheduleAnalysisTest {
+
+    @Test
+    public void testTwoCriticalBranches() {
+        // 0 -> 1 (3), 0 -> 2 (3), 1 -> 3 (2), 2 -> 3 (2), 0 -> 4 (1), 4 -> 3 (1)
+        int[] from = {0, 0, 1, 2, 0, 4};
+        int[] to = {1, 2, 3, 3, 4, 3};
+        double[] w = {3, 3, 2, 2, 1, 1};
+        CsrGraph g = CsrGraph.fromEdges(5, 6, from, to, w, null);
+
+        Metrics m = new Metrics();
+        Schedule s = new ScheduleAnalysis(m).analyse(g);
+
+        assertEquals(5.0, s.getLength());
+        assertEquals(12, m.scheduleEdges, "Each sweep visits every edge once");
+        assertEquals(0, m.relaxations, "Schedule sweeps are not path relaxations");
+        assertArrayEquals(new double[]{0, 3, 3, 5, 1}, s.getEarliest());
+        assertArrayEquals(new double[]{0, 3, 3, 5, 4}, s.getLatest());
+        assertEquals(3.0, s.slack(4));
+        assertArrayEquals(new int[]{0, 1, 2, 3}, s.criticalVertices());
+
+        int[] edges = s.criticalEdges();
+        assertEquals(4, edges.length, "Both branches through 1 and 2 are critical, the one through 4 is not");
+        for (int e : edges) assertNotEquals(4, g.target(e));
+    }
+
+    @Test
+    public void testNodeWeightsIncludeLastTask() throws IOException {
+        // durations A=3, B=2, C=4, D=1; A -> B, A -> C, B -> D, C -> D
+        String json = "{\"n\": 4, \"weight_model\": \"node\", \"node_weights\": [3, 2, 4, 1], \"edges\": ["
+                + "{\"u\": 0, \"v\": 1}, {\"u\": 0, \"v\": 2}, {\"u\": 1, \"v\": 3}, {\"u\": 2, \"v\": 3}]}";
+        IntGraph g = new JsonGraphLoader().read(new StringReader(json)).getGraph();
+
+        Schedule s = new ScheduleAnalysis(new Metrics()).analyse(g);
+
+        // CPM by hand: A starts 0, C 3, D 7 and finishes at 8
+        assertEquals(8.0, s.getLength());
+        assertArrayEquals(new double[]{0, 3, 3, 7, 8}, s.getEarliest());
+        assertEquals(0.0, s.slack(3), "The sink task is critical");
+        assertEquals(2.0, s.slack(1));
+        assertArrayEquals(new int[]{0, 2, 3, 4}, s.criticalVertices());
+    }
+
+    @Test
+    public void testMatchesLongestPathsOnRandomDags() {
+        Random rnd = new Random(3);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 30 + rnd.nextInt(100), m = 2 * n;
+            int[] from = new int[m], to = new int[m];
+            double[] w = new double[m];
+            for (int i = 0; i < m; i++) {
+                int a = rnd.nextInt(n), b = rnd.nextInt(n);
+                if (a == b) b = (b + 1) % n;
+                from[i] = Math.min(a, b);
+                to[i] = Math.max(a, b);
+                w[i] = 1 + rnd.nextInt(9);
+            }
+            CsrGraph g = CsrGraph.fromEdges(n, m, from, to, w, null);
+            Schedule s = new ScheduleAnalysis(new Metrics()).analyse(g);
+
+            // earliest start equals the longest path from any vertex, via a virtual zero-weight root
+            DAGShortestPath dsp = new DAGShortestPath(new Metrics());
+            double length = 0;
+            for (int v = 0; v < n; v++) {
+                double best = 0;
+                for (int u = 0; u < n; u++) {
+                    double d = dsp.longestPath(g, u, new int[n])[v];
+                    if (d > best) best = d;
+                }
+                assertEquals(best, s.earliest(v), 1e-9);
+                length = Math.max(length, best);
+                assertTrue(s.slack(v) >= -1e-9);
+            }
+            assertEquals(length, s.getLength(), 1e-9);
+            for (int v : s.criticalVertices()) assertEquals(s.earliest(v), s.latest(v), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package graph.gen;
+
+import graph.csr.IntGraph;
+import graph.io.JsonGraphLoader;
+import graph.io.LoadedGraph;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnTopo;
+import graph.topo.ParallelKahnTopo;
+import org.junit.jupiter.api.Test;
+import util.Metrics;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphGeneratorTest {
+
+    private static LoadedGraph generate(GraphGenerator.Family family, int n, long m, long seed) throws IOException {
+        StringWriter out = new StringWriter();
+        new GraphGenerator(family, n, m, seed).write(out);
+        return new JsonGraphLoader().read(new StringReader(out.toString()));
+    }
+
+    @Test
+    public void testDagIsAcyclic() throws IOException {
+        LoadedGraph lg = generate(GraphGenerator.Family.DAG, 500, 3000, 1);
+
+        assertEquals(3000, lg.getGraph().edgeCount());
+        assertEquals(0, lg.getSource());
+        assertEquals("edge", lg.getWeightModel());
+        assertDoesNotThrow(() -> new KahnTopo(new Metrics()).sort(lg.getGraph()));
+    }
+
+    @Test
+    public void testPlantedComponents() throws IOException {
+        int n = 20 * GraphGenerator.PLANTED_SCC_SIZE;
+        IntGraph g = generate(GraphGenerator.Family.PLANTED, n, 2 * n, 2).getGraph();
+
+        assertEquals(20, new TarjanSCC(new Metrics()).compute(g).getCount());
+    }
+
+    @Test
+    public void testPlantedSingletonBlockHasNoSelfLoop() throws IOException {
+        int n = 2 * GraphGenerator.PLANTED_SCC_SIZE + 1;
+        IntGraph g = generate(GraphGenerator.Family.PLANTED, n, n - 1, 5).getGraph();
+
+        assertEquals(n - 1, g.edgeCount());
+        for (int u = 0; u < n; u++)
+            for (int e = g.begin(u); e < g.end(u); e++) assertNotEquals(u, g.target(e));
+        assertEquals(3, new TarjanSCC(new Metrics()).compute(g).getCount());
+    }
+
+    @Test
+    public void testRejectsTooFewEdges() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new GraphGenerator(GraphGenerator.Family.PLANTED, 64, 10, 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> new GraphGenerator(GraphGenerator.Family.CHAIN, 64, 62, 1));
+    }
+
+    @Test
+    public void testChainDepth() throws IOException {
+        IntGraph g = generate(GraphGenerator.Family.CHAIN, 1000, 1500, 3).getGraph();
+
+        assertEquals(1000, new ParallelKahnTopo(new Metrics(), 1).sort(g).getLevelCount());
+    }
+
+    @Test
+    public void testPowerLawAndDeterminism() throws IOException {
+        IntGraph a = generate(GraphGenerator.Family.POWER_LAW, 2000, 8000, 4).getGraph();
+        IntGraph b = generate(GraphGenerator.Family.POWER_LAW, 2000, 8000, 4).getGraph();
+
+        int maxDegree = 0;
+        for (int u = 0; u < a.vertexCount(); u++) maxDegree = Math.max(maxDegree, a.outDegree(u));
+        assertTrue(maxDegree > 40, "Heavy tail should produce some high out-degree vertices");
+        for (int u = 0; u < a.vertexCount(); u++)
+            for (int e = a.begin(u); e < a.end(u); e++) assertNotEquals(u, a.target(e), "No self-loops");
+        assertEquals(a.edgeCount(), b.edgeCount());
+        for (int e = 0; e < a.edgeCount(); e++) assertEquals(a.target(e), b.target(e));
+    }
+}
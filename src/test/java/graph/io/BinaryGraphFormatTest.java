@@ -0,0 +1,96 @@
+package graph.io;
+
+import graph.csr.IntGraph;
+import graph.dagsp.DAGShortestPath;
+import graph.scc.Components;
+import graph.scc.TarjanSCC;
+import graph.topo.KahnTopo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.Metrics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.*;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BinaryGraphFormatTest {
+
+    @Test
+    public void testRoundTripMatchesJson(@TempDir Path dir) throws IOException {
+        Path json = Path.of("data", "small_3.json");
+        Path bin = dir.resolve("small_3" + BinaryGraphFormat.EXTENSION);
+
+        BinaryGraphFormat.convert(json, bin);
+        LoadedGraph expected = JsonGraphLoader.load(json);
+        LoadedGraph actual = BinaryGraphFormat.open(bin);
+
+        assertEquals(expected.isDirected(), actual.isDirected());
+        assertEquals(expected.getSource(), actual.getSource());
+        assertEquals(expected.getWeightModel(), actual.getWeightModel());
+
+        IntGraph a = expected.getGraph(), b = actual.getGraph();
+        assertEquals(a.vertexCount(), b.vertexCount());
+        assertEquals(a.edgeCount(), b.edgeCount());
+        for (int u = 0; u < a.vertexCount(); u++) {
+            assertEquals(a.begin(u), b.begin(u));
+            assertEquals(a.end(u), b.end(u));
+        }
+        for (int e = 0; e < a.edgeCount(); e++) {
+            assertEquals(a.target(e), b.target(e));
+            assertEquals(a.weight(e), b.weight(e));
+        }
+    }
+
+    @Test
+    public void testAlgorithmsRunOnMappedGraph(@TempDir Path dir) throws IOException {
+        // 0 -> 1 -> 2, 0 -> 2
+        String json = "{\"directed\": true, \"n\": 3, \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 2},"
+                + " {\"u\": 1, \"v\": 2, \"w\": 3}, {\"u\": 0, \"v\": 2, \"w\": 9}], \"source\": 0}";
+        Path bin = dir.resolve("g" + BinaryGraphFormat.EXTENSION);
+        BinaryGraphFormat.write(new JsonGraphLoader().read(new java.io.StringReader(json)), bin);
+
+        IntGraph g = BinaryGraphFormat.open(bin).getGraph();
+        Components comps = new TarjanSCC(new Metrics()).compute(g);
+        int[] order = new KahnTopo(new Metrics()).sort(g);
+        double[] dist = new DAGShortestPath(new Metrics()).shortestPath(g, 0, new int[3]);
+
+        assertEquals(3, comps.getCount());
+        assertArrayEquals(new int[]{0, 1, 2}, order);
+        assertEquals(5.0, dist[2]);
+    }
+
+    @Test
+    public void testRejectsForeignFile(@TempDir Path dir) throws IOException {
+        Path bogus = dir.resolve("bogus" + BinaryGraphFormat.EXTENSION);
+        Files.write(bogus, new byte[64]);
+
+        assertThrows(IOException.class, () -> BinaryGraphFormat.open(bogus));
+    }
+
+    @Test
+    public void testRejectsInconsistentLayout(@TempDir Path dir) throws IOException {
+        Path bin = dir.resolve("small_3" + BinaryGraphFormat.EXTENSION);
+        BinaryGraphFormat.convert(Path.of("data", "small_3.json"), bin);
+        byte[] good = Files.readAllBytes(bin);
+        int n = ByteBuffer.wrap(good).order(ByteOrder.LITTLE_ENDIAN).getInt(16);
+
+        Path longer = dir.resolve("longer" + BinaryGraphFormat.EXTENSION);
+        Files.write(longer, Arrays.copyOf(good, good.length + 8));
+        Path descending = corrupt(dir, "descending", good, BinaryGraphFormat.HEADER_BYTES + 4, Integer.MAX_VALUE);
+        Path shortEnd = corrupt(dir, "short-end", good, BinaryGraphFormat.HEADER_BYTES + 4 * n, 1);
+
+        for (Path bad : List.of(longer, descending, shortEnd))
+            assertThrows(IOException.class, () -> BinaryGraphFormat.open(bad), bad.toString());
+    }
+
+    private static Path corrupt(Path dir, String name, byte[] good, int at, int value) throws IOException {
+        byte[] bytes = good.clone();
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).putInt(at, value);
+        return Files.write(dir.resolve(name + BinaryGraphFormat.EXTENSION), bytes);
+    }
+}
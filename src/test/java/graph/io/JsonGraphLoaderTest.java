@@ -0,0 +1,101 @@
+package graph.io;
+
+import graph.csr.CsrGraph;
+import graph.csr.IntGraph;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonGraphLoaderTest {
+
+    @Test
+    public void testReadsAllFields() throws IOException {
+        String json = "{\"directed\": true, \"n\": 3, \"edges\": ["
+                + "{\"u\": 0, \"v\": 1, \"w\": 4}, {\"u\": 1, \"v\": 2, \"w\": 2.5}],"
+                + " \"source\": 1, \"weight_model\": \"edge\"}";
+
+        LoadedGraph lg = new JsonGraphLoader().read(new StringReader(json));
+        IntGraph g = lg.getGraph();
+
+        assertTrue(lg.isDirected());
+        assertEquals(1, lg.getSource());
+        assertEquals("edge", lg.getWeightModel());
+        assertEquals(3, g.vertexCount());
+        assertEquals(2, g.edgeCount());
+        assertEquals(2, g.target(g.begin(1)));
+        assertEquals(2.5, g.weight(g.begin(1)));
+    }
+
+    @Test
+    public void testUndirectedAndFieldOrder() throws IOException {
+        String json = "{\"edges\": [{\"w\": 3, \"v\": 1, \"u\": 0, \"note\": [1, 2]}],"
+                + " \"n\": 2, \"directed\": false}";
+
+        LoadedGraph lg = new JsonGraphLoader().read(new StringReader(json));
+        IntGraph g = lg.getGraph();
+
+        assertFalse(lg.hasSource());
+        assertEquals(2, g.edgeCount(), "Undirected edges are stored in both directions");
+        assertEquals(0, g.target(g.begin(1)));
+        assertEquals(3.0, g.weight(g.begin(1)));
+    }
+
+    @Test
+    public void testIntegralWeightsAreStoredAsInts() throws IOException {
+        String integral = "{\"n\": 2, \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 3}]}";
+        String fractional = "{\"n\": 2, \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 3.5}]}";
+
+        CsrGraph g = (CsrGraph) new JsonGraphLoader().read(new StringReader(integral)).getGraph();
+        assertArrayEquals(new int[]{3}, g.intWeights());
+        assertEquals(3.0, g.weight(0));
+        assertNull(((CsrGraph) new JsonGraphLoader().read(new StringReader(fractional)).getGraph()).intWeights());
+    }
+
+    @Test
+    public void testNodeWeightModel() throws IOException {
+        String json = "{\"n\": 3, \"directed\": false, \"weight_model\": \"node\","
+                + " \"edges\": [{\"u\": 0, \"v\": 1, \"w\": 100}, {\"u\": 1, \"v\": 2}],"
+                + " \"node_weights\": [2, 5, 7]}";
+
+        LoadedGraph lg = new JsonGraphLoader().read(new StringReader(json));
+        IntGraph g = lg.getGraph();
+
+        assertEquals("node", lg.getWeightModel());
+        assertEquals(4, g.vertexCount(), "A finish vertex is appended");
+        assertEquals(4 + 3, g.edgeCount());
+        for (int u = 0; u < 3; u++)
+            for (int e = g.begin(u); e < g.end(u); e++)
+                assertEquals(new double[]{2, 5, 7}[u], g.weight(e), "Edges cost their tail's node weight");
+    }
+
+    @Test
+    public void testRejectsBadNodeWeights() {
+        String missing = "{\"n\": 2, \"weight_model\": \"node\", \"edges\": []}";
+        String shortArray = "{\"n\": 2, \"weight_model\": \"node\", \"node_weights\": [1], \"edges\": []}";
+        String unknown = "{\"n\": 2, \"weight_model\": \"vertex\", \"edges\": []}";
+
+        for (String json : List.of(missing, shortArray, unknown))
+            assertThrows(IOException.class, () -> new JsonGraphLoader().read(new StringReader(json)));
+    }
+
+    @Test
+    public void testRejectsOutOfRangeVertex() {
+        String json = "{\"n\": 2, \"edges\": [{\"u\": 0, \"v\": 5, \"w\": 1}]}";
+
+        assertThrows(IOException.class, () -> new JsonGraphLoader().read(new StringReader(json)));
+    }
+
+    @Test
+    public void testLoadsDatasetFile() throws IOException {
+        LoadedGraph lg = JsonGraphLoader.load(Path.of("data", "small_1.json"));
+
+        assertEquals(6, lg.getGraph().vertexCount());
+        assertEquals(10, lg.getGraph().edgeCount());
+        assertEquals(2, lg.getSource());
+    }
+}
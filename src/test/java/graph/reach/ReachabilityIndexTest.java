@@ -0,0 +1,98 @@
+package graph.reach;
+
+import graph.csr.CsrGraph;
+import graph.csr.IntGraph;
+import graph.scc.CollapsePolicy;
+import graph.scc.Components;
+import graph.scc.CondensationBuilder;
+import graph.scc.TarjanSCC;
+import org.junit.jupiter.api.Test;
+import util.Metrics;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReachabilityIndexTest {
+
+    @Test
+    public void testSmallGraph() {
+        Map<String, List<String>> adj = new LinkedHashMap<>();
+        adj.put("A", List.of("B"));
+        adj.put("B", List.of("A", "C"));
+        adj.put("C", List.of("D"));
+        adj.put("E", List.of("C"));
+        CsrGraph g = CsrGraph.fromAdjacency(adj);
+        ReachabilityIndex idx = ReachabilityIndex.build(g, new Metrics());
+
+        assertTrue(idx.reachable(g.id("A"), g.id("D")));
+        assertTrue(idx.reachable(g.id("B"), g.id("A")), "Same component");
+        assertTrue(idx.reachable(g.id("E"), g.id("D")));
+        assertFalse(idx.reachable(g.id("D"), g.id("A")));
+        assertFalse(idx.reachable(g.id("A"), g.id("E")));
+        assertEquals(4, idx.componentCount());
+        assertTrue(idx.memoryBytes() > 0);
+    }
+
+    @Test
+    public void testMatchesTraversalOnRandomGraphs() {
+        Random rnd = new Random(7);
+        for (int trial = 0; trial < 20; trial++) {
+            int n = 50 + rnd.nextInt(250), m = n + rnd.nextInt(2 * n);
+            int[] from = new int[m], to = new int[m];
+            for (int i = 0; i < m; i++) {
+                from[i] = rnd.nextInt(n);
+                to[i] = rnd.nextInt(n);
+                // odd trials stay acyclic so there are hundreds of components spanning several words
+                if (trial % 2 == 1 && from[i] > to[i]) { int t = from[i]; from[i] = to[i]; to[i] = t; }
+            }
+            CsrGraph g = CsrGraph.fromEdges(n, m, from, to, null, null);
+
+            ReachabilityIndex raw = ReachabilityIndex.build(g, new Metrics());
+            Components topo = new TarjanSCC(new Metrics()).compute(g).reversed();
+            ReachabilityIndex fwd = new ReachabilityIndex(topo, new CondensationBuilder().build(g, topo, CollapsePolicy.MIN));
+
+            for (int u = 0; u < n; u++) {
+                boolean[] seen = bfs(g, u);
+                for (int v = 0; v < n; v++) {
+                    assertEquals(seen[v], raw.reachable(u, v), u + " -> " + v);
+                    assertEquals(seen[v], fwd.reachable(u, v), u + " -> " + v);
+                }
+            }
+        }
+    }
+
+    private static boolean[] bfs(IntGraph g, int s) {
+        boolean[] seen = new boolean[g.vertexCount()];
+        ArrayDeque<Integer> q = new ArrayDeque<>(List.of(s));
+        seen[s] = true;
+        while (!q.isEmpty()) {
+            int u = q.poll();
+            for (int e = g.begin(u); e < g.end(u); e++) {
+                int v = g.target(e);
+                if (!seen[v]) {
+                    seen[v] = true;
+                    q.add(v);
+                }
+            }
+        }
+        return seen;
+    }
+
+    @Test
+    public void testRejectsClosureBeyondArrayLimit() {
+        // a 600k-component chain reaches everything below it: ~2.8e9 words
+        int c = 600_000;
+        int[] from = new int[c - 1], to = new int[c - 1], ids = new int[c];
+        for (int i = 0; i < c - 1; i++) {
+            from[i] = i;
+            to[i] = i + 1;
+        }
+        for (int i = 0; i < c; i++) ids[i] = i;
+        CsrGraph chain = CsrGraph.fromEdges(c, c - 1, from, to, null, null);
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new ReachabilityIndex(new Components(ids, c), chain));
+        assertTrue(e.getMessage().contains("600000 components"));
+    }
+}
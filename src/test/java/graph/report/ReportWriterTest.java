@@ -0,0 +1,145 @@
+package graph.report;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import graph.TestGraphs;
+import graph.analysis.AnalysisCodec;
+import graph.analysis.AnalysisResult;
+import org.junit.jupiter.api.Test;
+import util.LatencyRecorder;
+import util.Metrics;
+import util.Phase;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ReportWriterTest {
+    private static String render(ReportWriter.Format format, boolean fail) throws IOException {
+        Metrics m = new Metrics("g.json");
+        AnalysisResult r = TestGraphs.analyseSmall(m);
+        LatencyRecorder latency = new LatencyRecorder();
+        latency.record(Phase.LOAD, 1_000);
+        latency.record(m);
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        try (ReportWriter report = format.open(buf)) {
+            report.begin();
+            report.dataset("g.json", r, m, 1.5);
+            report.latency("g.json", latency);
+            if (fail) report.failure("bad.json", new IOException("broken"));
+        }
+        return buf.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testConsoleReport() throws IOException {
+        String out = render(ReportWriter.Format.CONSOLE, false);
+        assertTrue(out.startsWith("=== DAG & SCC Analysis ==="));
+        assertTrue(out.contains("--- Processing g.json ---"));
+        assertTrue(out.contains("Critical path: C1 -> C3"));
+        assertTrue(out.contains("Topological Order: [C0, C1, C2, C3]"));
+        assertTrue(out.contains("Latency over 1 runs"));
+    }
+
+    @Test
+    public void testJsonLinesReport() throws IOException {
+        String[] lines = render(ReportWriter.Format.JSONL, true).split("\n");
+        assertEquals(3, lines.length);
+
+        JsonObject result = JsonParser.parseString(lines[0]).getAsJsonObject();
+        assertEquals("result", result.get("type").getAsString());
+        assertEquals("g.json", result.get("dataset").getAsString());
+        assertEquals(4, result.get("components").getAsInt());
+        assertEquals(2, result.getAsJsonArray("criticalPath").size());
+        assertTrue(result.getAsJsonObject("shortest").get("C0").isJsonNull());
+
+        assertEquals("latency", JsonParser.parseString(lines[1]).getAsJsonObject().get("type").getAsString());
+        JsonObject error = JsonParser.parseString(lines[2]).getAsJsonObject();
+        assertEquals("error", error.get("type").getAsString());
+        assertEquals("broken", error.get("message").getAsString());
+    }
+
+    @Test
+    public void testJsonLinesRecoversFromFailedRecord() throws IOException {
+        Metrics m = new Metrics("g.json");
+        AnalysisResult r = TestGraphs.analyseSmall(m);
+        AnalysisResult broken = new AnalysisResult(r.getComponents(), r.getShortestDag(), r.getLongestDag(),
+                r.getOrder(), r.getPaths(), new int[0], r.getSchedule());
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        try (ReportWriter report = ReportWriter.Format.JSONL.open(buf)) {
+            assertThrows(RuntimeException.class, () -> report.dataset("g.json", broken, m, 1.5));
+            report.failure("g.json", new IllegalStateException("render"));
+            report.dataset("g.json", r, m, 1.5);
+        }
+
+        String[] lines = buf.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, lines.length, "The cut-off record stays on its own line");
+        assertEquals("render", JsonParser.parseString(lines[1]).getAsJsonObject().get("message").getAsString());
+        assertEquals("result", JsonParser.parseString(lines[2]).getAsJsonObject().get("type").getAsString());
+    }
+
+    @Test
+    public void testBinaryRecoversFromFailedRecord() throws IOException {
+        Metrics m = new Metrics("g.json");
+        AnalysisResult r = TestGraphs.analyseSmall(m);
+        AnalysisResult broken = new AnalysisResult(r.getComponents(), r.getShortestDag(), r.getLongestDag(),
+                r.getOrder(), r.getPaths(), r.getCriticalPath(), null);
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        try (ReportWriter report = ReportWriter.Format.BINARY.open(buf)) {
+            assertThrows(RuntimeException.class, () -> report.dataset("g.json", broken, m, 1.5));
+            report.failure("g.json", new IllegalStateException("render"));
+            report.dataset("g.json", r, m, 1.5);
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buf.toByteArray()));
+        assertEquals(BinaryReport.MAGIC, in.readInt());
+        assertEquals(BinaryReport.VERSION, in.readInt());
+        assertEquals(BinaryReport.FAILURE, in.readByte(), "Nothing of the failed record reached the stream");
+        assertEquals("g.json", in.readUTF());
+        assertEquals("render", in.readUTF());
+        assertEquals(BinaryReport.RESULT, in.readByte());
+        assertEquals("g.json", in.readUTF());
+        in.readDouble();
+        for (Phase p : Phase.values()) in.readLong();
+        assertArrayEquals(r.getCriticalPath(), AnalysisCodec.read(in).getCriticalPath());
+        assertEquals(BinaryReport.END, in.readByte());
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testBinaryReportRoundTrip() throws IOException {
+        Metrics m = new Metrics("g.json");
+        AnalysisResult r = TestGraphs.analyseSmall(m);
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        try (ReportWriter report = ReportWriter.Format.BINARY.open(buf)) {
+            report.dataset("g.json", r, m, 1.5);
+            report.failure("bad.json", new IOException("broken"));
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(buf.toByteArray()));
+        assertEquals(BinaryReport.MAGIC, in.readInt());
+        assertEquals(BinaryReport.VERSION, in.readInt());
+        assertEquals(BinaryReport.RESULT, in.readByte());
+        assertEquals("g.json", in.readUTF());
+        assertEquals(1.5, in.readDouble());
+        for (Phase p : Phase.values()) assertEquals(m.phaseNs(p), in.readLong());
+        AnalysisResult back = AnalysisCodec.read(in);
+        assertArrayEquals(r.getCriticalPath(), back.getCriticalPath());
+        assertArrayEquals(r.getPaths().getShortest(), back.getPaths().getShortest());
+
+        assertEquals(BinaryReport.FAILURE, in.readByte());
+        assertEquals("bad.json", in.readUTF());
+        assertEquals("broken", in.readUTF());
+        assertEquals(BinaryReport.END, in.readByte());
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testQuietReport() throws IOException {
+        String[] lines = render(ReportWriter.Format.QUIET, true).split(System.lineSeparator());
+        assertEquals(3, lines.length);
+        assertTrue(lines[0].startsWith("g.json: 4 components, critical 9.00"));
+        assertEquals("bad.json: failed: broken", lines[2]);
+    }
+}
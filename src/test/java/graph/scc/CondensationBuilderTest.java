@@ -0,0 +1,69 @@
+package graph.scc;
+
+import graph.csr.CsrGraph;
+import org.junit.jupiter.api.Test;
+import util.Metrics;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CondensationBuilderTest {
+
+    // {0,1} -> {2} over three parallel edges, {2} -> {3}
+    private static final CsrGraph GRAPH = CsrGraph.fromEdges(4, 6,
+            new int[]{0, 1, 0, 1, 1, 2},
+            new int[]{1, 0, 2, 2, 2, 3},
+            new double[]{1, 1, 4, 2, 7, 5}, null);
+
+    private static final Components COMPS = new Components(new int[]{0, 0, 1, 2}, 3);
+
+    @Test
+    public void testCollapsePolicies() {
+        CsrGraph[] dags = new CondensationBuilder().build(GRAPH, COMPS,
+                CollapsePolicy.MIN, CollapsePolicy.MAX, CollapsePolicy.SUM);
+
+        for (CsrGraph dag : dags) {
+            assertEquals(3, dag.vertexCount());
+            assertEquals(2, dag.edgeCount(), "Parallel edges collapse and self-loops vanish");
+            assertEquals(1, dag.target(dag.begin(0)));
+            assertEquals("C2", dag.label(dag.target(dag.begin(1))));
+        }
+        assertEquals(2.0, dags[0].weight(dags[0].begin(0)));
+        assertEquals(7.0, dags[1].weight(dags[1].begin(0)));
+        assertEquals(13.0, dags[2].weight(dags[2].begin(0)));
+        assertEquals(5.0, dags[2].weight(dags[2].begin(1)));
+    }
+
+    @Test
+    public void testIntegerWeightsSurviveCollapse() {
+        CsrGraph ints = CsrGraph.fromIntEdges(4, 6,
+                new int[]{0, 1, 0, 1, 1, 2}, new int[]{1, 0, 2, 2, 2, 3}, new int[]{1, 1, 4, 2, 7, 5}, null);
+        CsrGraph[] dags = new CondensationBuilder().build(ints, COMPS, CollapsePolicy.MIN, CollapsePolicy.SUM);
+
+        assertArrayEquals(new int[]{2, 5}, dags[0].intWeights());
+        assertArrayEquals(new int[]{13, 5}, dags[1].intWeights());
+        assertNull(new CondensationBuilder().build(GRAPH, COMPS, CollapsePolicy.MIN).intWeights());
+
+        CsrGraph huge = CsrGraph.fromIntEdges(4, 6, new int[]{0, 1, 0, 1, 1, 2}, new int[]{1, 0, 2, 2, 2, 3},
+                new int[]{1, 1, Integer.MAX_VALUE - 1, Integer.MAX_VALUE - 1, 1, 5}, null);
+        CsrGraph sum = new CondensationBuilder().build(huge, COMPS, CollapsePolicy.SUM);
+        assertNull(sum.intWeights(), "Sums past int range fall back to doubles");
+        assertEquals(2.0 * Integer.MAX_VALUE - 1, sum.weight(sum.begin(0)));
+    }
+
+    @Test
+    public void testStringCondensationAdapter() {
+        Map<String, List<String>> adj = new HashMap<>();
+        adj.put("a", List.of("b", "c", "c"));
+        adj.put("b", List.of("a", "c"));
+        adj.put("c", List.of());
+
+        KosarajuSCC scc = new KosarajuSCC(new Metrics());
+        List<List<String>> comps = scc.compute(adj);
+        Map<String, List<String>> dag = scc.buildCondensation(adj, comps);
+
+        assertEquals(2, dag.size());
+        assertEquals(1, dag.values().stream().mapToInt(List::size).sum());
+    }
+}
@@ -0,0 +1,94 @@
+package graph.scc;
+
+import graph.Edge;
+import graph.Graph;
+import org.junit.jupiter.api.Test;
+import util.Metrics;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DynamicSCCTest {
+
+    @Test
+    public void testMergeAndSplit() {
+        List<String> nodes = List.of("A", "B", "C", "D");
+        List<Edge> edges = List.of(
+                new Edge("A", "B", 1),
+                new Edge("B", "C", 1),
+                new Edge("C", "D", 1)
+        );
+        DynamicSCC dyn = new DynamicSCC(new Graph(1, nodes, edges, true, null), new Metrics());
+        assertEquals(4, dyn.componentCount());
+
+        SccUpdate merged = dyn.addEdge("D", "B");
+        assertEquals(2, dyn.componentCount());
+        assertEquals(2, merged.getRemoved().size());
+        assertEquals(Set.of(dyn.componentOf("B")), merged.getChanged());
+        assertEquals(dyn.componentOf("B"), dyn.componentOf("D"));
+        assertEquals(List.of("C" + dyn.componentOf("B")), dyn.condensation().get("C" + dyn.componentOf("A")));
+
+        SccUpdate split = dyn.removeEdge("C", "D");
+        assertEquals(4, dyn.componentCount());
+        assertEquals(3, split.getChanged().size());
+        assertTrue(dyn.addEdge("A", "C").isEmpty(), "Edge consistent with the order changes nothing");
+    }
+
+    @Test
+    public void testReorderWithoutCycle() {
+        List<String> nodes = List.of("A", "B");
+        DynamicSCC dyn = new DynamicSCC(new Graph(2, nodes, List.of(), true, null), new Metrics());
+        List<Integer> before = dyn.topologicalOrder();
+        String first = dyn.members(before.get(0)).get(0);
+        String second = dyn.members(before.get(1)).get(0);
+
+        dyn.addEdge(second, first);
+
+        List<Integer> after = dyn.topologicalOrder();
+        assertEquals(dyn.componentOf(second), after.get(0));
+        assertEquals(2, dyn.componentCount());
+    }
+
+    @Test
+    public void testRandomUpdatesMatchRecomputation() {
+        Random rnd = new Random(11);
+        int n = 40;
+        List<String> nodes = new ArrayList<>();
+        for (int i = 0; i < n; i++) nodes.add(String.valueOf(i));
+        DynamicSCC dyn = new DynamicSCC(new Graph(3, nodes, new ArrayList<>(), true, null), new Metrics());
+        List<String[]> live = new ArrayList<>();
+
+        for (int step = 0; step < 600; step++) {
+            if (!live.isEmpty() && rnd.nextInt(3) == 0) {
+                String[] e = live.remove(rnd.nextInt(live.size()));
+                dyn.removeEdge(e[0], e[1]);
+            } else {
+                String[] e = {nodes.get(rnd.nextInt(n)), nodes.get(rnd.nextInt(n))};
+                live.add(e);
+                dyn.addEdge(e[0], e[1]);
+            }
+            assertConsistent(dyn, nodes, live);
+        }
+    }
+
+    private static void assertConsistent(DynamicSCC dyn, List<String> nodes, List<String[]> live) {
+        Map<String, List<String>> adj = new HashMap<>();
+        for (String v : nodes) adj.put(v, new ArrayList<>());
+        for (String[] e : live) adj.get(e[0]).add(e[1]);
+        List<List<String>> expected = new TarjanSCC(new Metrics()).compute(adj);
+
+        assertEquals(expected.size(), dyn.componentCount());
+        for (List<String> comp : expected)
+            for (String v : comp)
+                assertEquals(dyn.componentOf(comp.get(0)), dyn.componentOf(v));
+
+        Map<Integer, Integer> position = new HashMap<>();
+        List<Integer> order = dyn.topologicalOrder();
+        for (int i = 0; i < order.size(); i++) position.put(order.get(i), i);
+        for (String[] e : live) {
+            int cu = dyn.componentOf(e[0]), cv = dyn.componentOf(e[1]);
+            if (cu != cv) assertTrue(position.get(cu) < position.get(cv), "Order must stay topological");
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package graph.scc;
+
+import graph.csr.CsrGraph;
+import graph.csr.IntGraph;
+import graph.gen.GraphGenerator;
+import graph.io.EdgeFile;
+import graph.io.JsonGraphLoader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.Metrics;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.file.*;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ExternalSCCTest {
+
+    @Test
+    public void testMatchesInMemoryDecomposition(@TempDir Path dir) throws IOException {
+        Random rnd = new Random(11);
+        for (int trial = 0; trial < 15; trial++) {
+            int n = 20 + rnd.nextInt(300), m = rnd.nextInt(3 * n);
+            int[] from = new int[m], to = new int[m];
+            double[] w = new double[m];
+            for (int i = 0; i < m; i++) {
+                from[i] = rnd.nextInt(n);
+                to[i] = rnd.nextInt(n);
+                w[i] = 1 + rnd.nextInt(20);
+            }
+            CsrGraph g = CsrGraph.fromEdges(n, m, from, to, w, null);
+            Path edges = dir.resolve("g" + trial + EdgeFile.EXTENSION);
+            Path cond = dir.resolve("c" + trial + EdgeFile.EXTENSION);
+            EdgeFile.write(g, edges);
+
+            // tiny runs force several sorted runs through the merge
+            Components ext = new ExternalSCC(new Metrics(), dir, 7).compute(edges, cond, CollapsePolicy.MIN);
+            Components mem = new ParallelSCC(new Metrics(), 2).compute(g);
+
+            assertEquals(mem.getCount(), ext.getCount());
+            assertArrayEquals(mem.getCompOf(), ext.getCompOf());
+            assertEquals(edgeSet(new CondensationBuilder().build(g, mem, CollapsePolicy.MIN)), edgeSet(cond));
+        }
+        try (var left = Files.list(dir)) {
+            assertTrue(left.noneMatch(p -> p.getFileName().toString().startsWith("scc-")), "Temp files are removed");
+        }
+    }
+
+    @Test
+    public void testPassesStaySubLinearOnLongChain(@TempDir Path dir) throws IOException {
+        int n = 20_000;
+        StringWriter json = new StringWriter();
+        new GraphGenerator(GraphGenerator.Family.CHAIN, n, 3L * n / 2, 3).write(json);
+        IntGraph g = new JsonGraphLoader().read(new StringReader(json.toString())).getGraph();
+
+        // shuffled, and once more with ids against the edge direction
+        List<int[]> edges = new ArrayList<>();
+        for (int u = 0; u < n; u++)
+            for (int e = g.begin(u); e < g.end(u); e++) edges.add(new int[]{u, g.target(e)});
+        Collections.shuffle(edges, new Random(4));
+        for (boolean reversed : new boolean[]{false, true}) {
+            Path file = dir.resolve("chain-" + reversed + EdgeFile.EXTENSION);
+            try (EdgeFile.Writer w = new EdgeFile.Writer(file, n)) {
+                for (int[] e : edges)
+                    if (reversed) w.append(n - 1 - e[0], n - 1 - e[1], 1);
+                    else w.append(e[0], e[1], 1);
+            }
+            ExternalSCC scc = new ExternalSCC(new Metrics(), dir, 4096);
+            assertEquals(n, scc.compute(file).getCount());
+            assertTrue(scc.passes() <= 4, "Passes: " + scc.passes());
+        }
+    }
+
+    @Test
+    public void testSortCarriesWeights() {
+        Random rnd = new Random(5);
+        long[] k = new long[1000];
+        double[] w = new double[k.length];
+        for (int i = 0; i < k.length; i++) {
+            k[i] = rnd.nextInt(200);
+            w[i] = k[i] * 2;
+        }
+        ExternalSCC.sort(k, w, 0, k.length);
+        for (int i = 1; i < k.length; i++) assertTrue(k[i - 1] <= k[i]);
+        for (int i = 0; i < k.length; i++) assertEquals(k[i] * 2, w[i]);
+    }
+
+    private static Set<String> edgeSet(CsrGraph dag) {
+        Set<String> out = new HashSet<>();
+        for (int u = 0; u < dag.vertexCount(); u++)
+            for (int e = dag.begin(u); e < dag.end(u); e++) out.add(u + ">" + dag.target(e) + ":" + dag.weight(e));
+        return out;
+    }
+
+    private static Set<String> edgeSet(Path file) throws IOException {
+        Set<String> out = new HashSet<>();
+        long prev = -1;
+        try (EdgeFile.Reader r = new EdgeFile.Reader(file)) {
+            while (r.next()) {
+                long key = (long) r.u() << 32 | r.v();
+                assertTrue(key > prev, "Condensation edges are sorted and unique");
+                prev = key;
+                out.add(r.u() + ">" + r.v() + ":" + r.w());
+            }
+        }
+        return out;
+    }
+}
@@ -0,0 +1,78 @@
+package graph.scc;
+
+import graph.Edge;
+import graph.Graph;
+import graph.csr.CsrGraph;
+import org.junit.jupiter.api.Test;
+import util.Metrics;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelSCCTest {
+
+    @Test
+    public void testSmallGraph() {
+        List<String> nodes = List.of("0", "1", "2", "3", "4");
+        List<Edge> edges = List.of(
+                new Edge("0", "1", 1),
+                new Edge("1", "2", 1),
+                new Edge("2", "0", 1),
+                new Edge("3", "4", 1),
+                new Edge("4", "3", 1)
+        );
+
+        Graph g = new Graph(1, nodes, edges, true, null);
+        List<List<String>> comps = new ParallelSCC(new Metrics(), 2).compute(g.getAdjacencySimple());
+
+        assertEquals(2, comps.size());
+    }
+
+    @Test
+    public void testMatchesKosarajuOnLargeRandomGraph() {
+        // sparse enough to leave a giant SCC plus many trimmed and mid-sized components
+        CsrGraph g = randomGraph(50_000, 80_000, 7);
+        assertSamePartition(new KosarajuSCC(new Metrics()).compute(g),
+                new ParallelSCC(new Metrics(), 4).compute(g), g.vertexCount());
+    }
+
+    @Test
+    public void testLongChainAndRing() {
+        int n = 100_000;
+        int[] from = new int[2 * n - 1];
+        int[] to = new int[2 * n - 1];
+        int k = 0;
+        for (int i = 0; i + 1 < n; i++) {
+            from[k] = i; to[k++] = i + 1;
+        }
+        for (int i = 0; i < n; i++) {
+            from[k] = n + i; to[k++] = n + (i + 1) % n;
+        }
+        CsrGraph g = CsrGraph.fromEdges(2 * n, k, from, to, null, null);
+
+        Components comps = new ParallelSCC(new Metrics(), 4).compute(g);
+
+        assertEquals(n + 1, comps.getCount(), "Chain vertices are singletons, the ring is one SCC");
+    }
+
+    private static CsrGraph randomGraph(int n, int m, long seed) {
+        Random rnd = new Random(seed);
+        int[] from = new int[m];
+        int[] to = new int[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = rnd.nextInt(n);
+            to[i] = rnd.nextInt(n);
+        }
+        return CsrGraph.fromEdges(n, m, from, to, null, null);
+    }
+
+    private static void assertSamePartition(Components expected, Components actual, int n) {
+        assertEquals(expected.getCount(), actual.getCount());
+        Map<Integer, Integer> mapping = new HashMap<>();
+        for (int v = 0; v < n; v++) {
+            Integer prev = mapping.putIfAbsent(expected.componentOf(v), actual.componentOf(v));
+            if (prev != null) assertEquals(prev.intValue(), actual.componentOf(v));
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package graph.scc;
+
+import graph.Edge;
+import graph.Graph;
+import graph.csr.CsrGraph;
+import org.junit.jupiter.api.Test;
+import util.Metrics;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TarjanSCCTest {
+
+    @Test
+    public void testMultipleSCCs() {
+        List<String> nodes = List.of("0", "1", "2", "3", "4");
+        List<Edge> edges = List.of(
+                new Edge("0", "1", 1),
+                new Edge("1", "2", 1),
+                new Edge("2", "0", 1),
+                new Edge("3", "4", 1),
+                new Edge("4", "3", 1)
+        );
+
+        Graph g = new Graph(1, nodes, edges, true, null);
+        Metrics m = new Metrics();
+        List<List<String>> comps = new TarjanSCC(m).compute(g.getAdjacencySimple());
+
+        assertEquals(2, comps.size());
+        assertEquals(5, m.dfsVisits);
+        assertEquals(5, m.dfsEdges);
+    }
+
+    @Test
+    public void testReverseTopologicalOrder() {
+        // {0,1} -> {2} -> {3,4}, plus {0,1} -> {3,4}
+        CsrGraph g = CsrGraph.fromEdges(5, 6,
+                new int[]{0, 1, 1, 2, 3, 4}, new int[]{1, 0, 2, 3, 4, 3}, null, null);
+
+        Components comps = new TarjanSCC(new Metrics()).compute(g);
+
+        assertEquals(3, comps.getCount());
+        for (int u = 0; u < g.vertexCount(); u++) {
+            for (int e = g.begin(u); e < g.end(u); e++) {
+                int cu = comps.componentOf(u), cv = comps.componentOf(g.target(e));
+                assertTrue(cu >= cv, "Edges must point from later to earlier components");
+            }
+        }
+        assertArrayEquals(new int[]{2, 1, 0}, new TarjanSCC(new Metrics()).topologicalOrder(comps));
+    }
+
+    @Test
+    public void testLongChainDoesNotOverflow() {
+        int n = 300_000;
+        int[] from = new int[n];
+        int[] to = new int[n];
+        for (int i = 0; i < n; i++) {
+            from[i] = i;
+            to[i] = (i + 1) % n;
+        }
+
+        Components comps = new TarjanSCC(new Metrics()).compute(CsrGraph.fromEdges(n, n, from, to, null, null));
+
+        assertEquals(1, comps.getCount(), "A ring is a single SCC");
+    }
+
+    @Test
+    public void testMatchesKosaraju() {
+        Random rnd = new Random(42);
+        int n = 200, m = 400;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = rnd.nextInt(n);
+            to[i] = rnd.nextInt(n);
+        }
+        CsrGraph g = CsrGraph.fromEdges(n, m, from, to, null, null);
+
+        Components t = new TarjanSCC(new Metrics()).compute(g);
+        Components k = new KosarajuSCC(new Metrics()).compute(g);
+
+        assertEquals(k.getCount(), t.getCount());
+        for (int u = 0; u < n; u++)
+            for (int v = 0; v < n; v++)
+                assertEquals(k.componentOf(u) == k.componentOf(v), t.componentOf(u) == t.componentOf(v));
+    }
+}
@@ -0,0 +1,100 @@
+package graph.server;
+
+import graph.TestGraphs;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GraphQueryServerTest {
+    private GraphIndex index;
+    private GraphQueryServer server;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        index = new GraphIndex(TestGraphs.small(), 4);
+        server = new GraphQueryServer(index, 16);
+        server.start(0, 2);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        server.stop();
+    }
+
+    @Test
+    public void testIndexAnswers() {
+        assertEquals(index.component(0), index.component(1));
+        assertEquals(List.of("0", "1"), index.members(index.component(0)));
+        assertEquals(5.0, index.shortestDistance(0, 3));
+        assertEquals(9.0, index.longestDistance(0, 3));
+        assertEquals(3, index.shortestPath(0, 3).size());
+        assertEquals(List.of(), index.shortestPath(0, 4));
+        assertEquals(9.0, index.criticalLength(1));
+
+        index.shortestDistance(1, 3);
+        assertEquals(1, index.pathCache().size(), "Vertices of one component share cached paths");
+    }
+
+    @Test
+    public void testHttpQueries() throws IOException {
+        assertTrue(get("/shortest?from=0&to=3").contains("\"distance\":5.0"));
+        String unreachable = get("/shortest?from=0&to=4");
+        assertTrue(unreachable.contains("\"distance\":null"));
+        assertTrue(unreachable.contains("\"path\":[]"));
+        assertTrue(get("/longest?from=0&to=3").contains("\"distance\":9.0"));
+        assertTrue(get("/component?v=1").contains("\"members\":[\"0\",\"1\"]"));
+
+        get("/shortest?from=0&to=3");
+        assertTrue(get("/stats").contains("\"responseCacheHits\":1"));
+    }
+
+    @Test
+    public void testBadRequests() throws IOException {
+        assertEquals(400, status("/shortest?from=0"));
+        assertEquals(400, status("/component?v=nope"));
+        assertEquals(404, status("/nothing"));
+    }
+
+    @Test
+    public void testInternalErrors() throws IOException {
+        server.stop();
+        server = new GraphQueryServer(index, 16) {
+            @Override
+            String answer(String path, Map<String, String> q) {
+                throw new IllegalStateException("boom");
+            }
+        };
+        server.start(0, 1);
+        assertEquals(500, status("/stats"));
+        assertEquals(500, status("/stats"), "The worker survives the failure");
+    }
+
+    private String get(String path) throws IOException {
+        HttpURLConnection c = open(path);
+        assertEquals(200, c.getResponseCode());
+        try (InputStream in = c.getInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private int status(String path) throws IOException {
+        HttpURLConnection c = open(path);
+        int code = c.getResponseCode();
+        c.disconnect();
+        return code;
+    }
+
+    private HttpURLConnection open(String path) throws IOException {
+        return (HttpURLConnection) new URL("http://127.0.0.1:" + server.port() + path).openConnection();
+    }
+}
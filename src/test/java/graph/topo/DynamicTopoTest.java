@@ -0,0 +1,74 @@
+package graph.topo;
+
+import graph.Edge;
+import graph.Graph;
+import org.junit.jupiter.api.Test;
+import util.Metrics;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DynamicTopoTest {
+
+    @Test
+    public void testReordersOnlyWhenNeeded() {
+        List<String> nodes = List.of("A", "B", "C");
+        List<Edge> edges = List.of(new Edge("A", "B", 1));
+        Graph g = new Graph(1, nodes, edges, true, null);
+
+        Metrics m = new Metrics();
+        DynamicTopo topo = new DynamicTopo(g.getAdjacencySimple(), m);
+        topo.addEdge("C", "A");
+
+        List<String> order = topo.order();
+        assertTrue(order.indexOf("C") < order.indexOf("A"));
+        assertTrue(order.indexOf("A") < order.indexOf("B"));
+
+        long shifts = m.orderShifts;
+        topo.addEdge("C", "B");
+        assertEquals(shifts, m.orderShifts, "Edge consistent with the order moves nothing");
+    }
+
+    @Test
+    public void testRejectsCycle() {
+        DynamicTopo topo = new DynamicTopo(new Metrics());
+        topo.addEdge("A", "B");
+        topo.addEdge("B", "C");
+        List<String> before = topo.order();
+
+        CycleException ex = assertThrows(CycleException.class, () -> topo.addEdge("C", "A"));
+
+        assertEquals(List.of("C", "A", "B", "C"), ex.getCycle());
+        assertEquals(before, topo.order(), "Rejected insertion leaves the order unchanged");
+        assertThrows(IllegalStateException.class, () -> topo.addEdge("D", "D"));
+        assertEquals(before, topo.order(), "A rejected self-loop does not register its vertex");
+        assertThrows(IllegalArgumentException.class, () -> topo.position("D"));
+    }
+
+    @Test
+    public void testRandomInsertionsStayTopological() {
+        Random rnd = new Random(5);
+        DynamicTopo topo = new DynamicTopo(new Metrics());
+        List<String[]> accepted = new ArrayList<>();
+        for (int i = 0; i < 50; i++) topo.addVertex("v" + i);
+
+        for (int step = 0; step < 400; step++) {
+            String[] e = {"v" + rnd.nextInt(50), "v" + rnd.nextInt(50)};
+            try {
+                topo.addEdge(e[0], e[1]);
+                accepted.add(e);
+            } catch (CycleException ex) {
+                List<String> c = ex.getCycle();
+                assertEquals(c.get(0), c.get(c.size() - 1));
+            }
+        }
+
+        Map<String, List<String>> adj = new HashMap<>();
+        for (String v : topo.order()) adj.put(v, new ArrayList<>());
+        for (String[] e : accepted) adj.get(e[0]).add(e[1]);
+        assertDoesNotThrow(() -> new KahnTopo(new Metrics()).sort(adj));
+        for (String[] e : accepted)
+            assertTrue(topo.position(e[0]) < topo.position(e[1]));
+    }
+}
@@ -0,0 +1,71 @@
+package graph.topo;
+
+import graph.Edge;
+import graph.Graph;
+import graph.csr.CsrGraph;
+import org.junit.jupiter.api.Test;
+import util.Metrics;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ParallelKahnTopoTest {
+
+    @Test
+    public void testLevels() {
+        // 0 -> 1 -> 3, 0 -> 2 -> 3, 2 -> 4
+        CsrGraph g = CsrGraph.fromEdges(5, 5,
+                new int[]{0, 0, 1, 2, 2}, new int[]{1, 2, 3, 3, 4}, null, null);
+
+        TopoLevels levels = new ParallelKahnTopo(new Metrics(), 2).sort(g);
+
+        assertArrayEquals(new int[]{0, 1, 1, 2, 2}, levels.getLevel());
+        assertEquals(3, levels.getLevelCount());
+        assertEquals(0, levels.getOrder()[0]);
+        assertEquals(1, levels.levelStart(1));
+        assertEquals(3, levels.levelEnd(1));
+    }
+
+    @Test
+    public void testCycleGraph() {
+        List<String> nodes = List.of("A", "B", "C");
+        List<Edge> edges = List.of(
+                new Edge("A", "B", 1),
+                new Edge("B", "C", 1),
+                new Edge("C", "B", 1)
+        );
+        Graph g = new Graph(1, nodes, edges, true, null);
+
+        assertThrows(IllegalStateException.class,
+                () -> new ParallelKahnTopo(new Metrics(), 2).sort(g.getAdjacencySimple()));
+    }
+
+    @Test
+    public void testWideRandomDag() {
+        Random rnd = new Random(3);
+        int n = 60_000, m = 240_000;
+        int[] from = new int[m];
+        int[] to = new int[m];
+        for (int i = 0; i < m; i++) {
+            from[i] = rnd.nextInt(n - 1);
+            to[i] = from[i] + 1 + rnd.nextInt(Math.min(64, n - 1 - from[i]));
+        }
+        CsrGraph g = CsrGraph.fromEdges(n, m, from, to, null, null);
+
+        Metrics metrics = new Metrics();
+        TopoLevels levels = new ParallelKahnTopo(metrics, 4).sort(g);
+
+        int[] pos = new int[n];
+        int[] order = levels.getOrder();
+        for (int i = 0; i < n; i++) pos[order[i]] = i;
+        int[] level = levels.getLevel();
+        for (int u = 0; u < n; u++) {
+            for (int e = g.begin(u); e < g.end(u); e++) {
+                assertTrue(pos[u] < pos[g.target(e)]);
+                assertTrue(level[u] < level[g.target(e)]);
+            }
+        }
+        assertEquals(n, metrics.kahnPops);
+    }
+}
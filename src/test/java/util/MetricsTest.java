@@ -0,0 +1,36 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+
+    @Test
+    public void testPhaseTimersDoNotTouchRunTimer() throws InterruptedException {
+        Metrics m = new Metrics("test");
+        m.startTimer();
+        PhaseTimer t = m.start(Phase.SCC);
+        Thread.sleep(2);
+        t.stop();
+        t.stop();
+        m.stopTimer();
+
+        assertEquals(1, m.phaseCount(Phase.SCC));
+        assertTrue(m.phaseNs(Phase.SCC) >= 2_000_000);
+        assertTrue(m.elapsedNs() >= m.phaseNs(Phase.SCC), "Run timer spans the phase");
+        assertEquals(0, m.phaseCount(Phase.TOPO));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyRecorder rec = new LatencyRecorder();
+        for (int i = 1; i <= 100; i++) rec.record(Phase.TOPO, i);
+
+        assertEquals(100, rec.count(Phase.TOPO));
+        assertEquals(50, rec.p50Ns(Phase.TOPO));
+        assertEquals(99, rec.p99Ns(Phase.TOPO));
+        assertEquals(100, rec.maxNs(Phase.TOPO));
+        assertEquals(0, rec.p50Ns(Phase.SCC));
+    }
+}
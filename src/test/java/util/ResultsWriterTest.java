@@ -0,0 +1,37 @@
+package util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.*;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultsWriterTest {
+
+    @Test
+    public void testHeaderWrittenOnceAcrossReopens(@TempDir Path dir) throws Exception {
+        Metrics m = new Metrics("a.json");
+        m.dfsVisits = 3;
+        m.start(Phase.SCC).stop();
+
+        try (ResultsWriter w = new ResultsWriter(dir)) {
+            w.writeRun("a.json", 1.5, m);
+        }
+        try (ResultsWriter w = new ResultsWriter(dir)) {
+            w.writeRun("b.json", 2.0, m);
+        }
+
+        List<String> rows = Files.readAllLines(dir.resolve("results.csv"));
+        assertEquals(3, rows.size());
+        assertEquals(ResultsWriter.RESULTS_HEADER, rows.get(0));
+        assertTrue(rows.get(1).startsWith("a.json,1.500,"));
+        assertTrue(rows.get(2).startsWith("b.json,2.000,"));
+
+        List<String> phases = Files.readAllLines(dir.resolve("phases.csv"));
+        assertEquals(List.of(ResultsWriter.PHASES_HEADER), phases.subList(0, 1));
+        assertTrue(phases.get(1).startsWith("a.json,SCC,1,"));
+        assertFalse(Files.exists(dir.resolve("latency.csv")), "Latency file only appears for repeated runs");
+    }
+}